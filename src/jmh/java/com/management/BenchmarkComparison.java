@@ -0,0 +1,97 @@
+package com.management;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON results (-rf json), e.g. the base branch and a PR.
+ * A benchmark counts as a regression when it got worse by more than the
+ * threshold percentage and by more than both runs' 99.9% error margins
+ * together, so noise alone does not fail the build. Exits 1 on regression.
+ *
+ * Usage: BenchmarkComparison baseline.json current.json [thresholdPercent]
+ */
+public final class BenchmarkComparison {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison baseline.json current.json [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        Map<String, JsonNode> baseline = read(args[0]);
+        Map<String, JsonNode> current = read(args[1]);
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+
+        for (Map.Entry<String, JsonNode> entry : new TreeMap<>(current).entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s%n", entry.getKey(), "-", score(after), "new");
+                continue;
+            }
+
+            double old = score(before);
+            double now = score(after);
+            // Throughput: higher is better; every time-per-op mode: lower is better
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double worse = higherIsBetter ? old - now : now - old;
+            double change = old == 0 ? 0 : (now - old) / old * 100;
+
+            boolean regression = worse > 0
+                    && worse / old * 100 > threshold
+                    && worse > error(before) + error(after);
+            if (regression) {
+                regressions++;
+            }
+
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%%s%n",
+                    entry.getKey(), old, now, change, regression ? "  REGRESSION" : "");
+        }
+
+        System.out.printf("%n%d regression(s) above %.0f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    // benchmark name + params, e.g. "com.management.BCryptBenchmark.matches {cost=10}"
+    private static Map<String, JsonNode> read(String file) throws IOException {
+
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : MAPPER.readTree(new File(file))) {
+            String key = result.path("benchmark").asText();
+            JsonNode params = result.path("params");
+            if (!params.isMissingNode()) {
+                key += " " + new TreeMap<>(MAPPER.convertValue(params, Map.class));
+            }
+            results.put(key, result);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+    // NaN when a run had too few iterations to compute one
+    private static double error(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,67 @@
+package com.management;
+
+import com.management.config.JwtService;
+import com.management.config.TokenVersionRegistry;
+import com.management.entity.Role;
+import com.management.entity.User;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fixed inputs shared by the JMH benchmarks. Everything is built the same
+ * way on every run, so scores stay comparable across commits.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "benchmark-secret-key-must-be-at-least-32-chars!!";
+
+    static final String[] ROLE_NAMES = {
+            "ROLE_USER", "ROLE_ADMIN", "ROLE_MODERATOR", "ROLE_AUDITOR", "ROLE_SUPPORT",
+            "ROLE_BILLING", "ROLE_REPORTS", "ROLE_OPS"
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    // cacheSize 0 = every verify parses and checks the signature
+    static JwtService jwtService(long cacheSize) {
+        JwtService jwtService = new JwtService(tokenVersionRegistry());
+        ReflectionTestUtils.setField(jwtService, "SECRET", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+
+    // Every user is at the fixture's profile version; a TTL longer than any run keeps it cached
+    static TokenVersionRegistry tokenVersionRegistry() {
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        Mockito.when(jdbcTemplate.queryForList(Mockito.anyString(), Mockito.eq(Long.class), Mockito.any()))
+                .thenReturn(List.of(3L));
+        TokenVersionRegistry registry = new TokenVersionRegistry(jdbcTemplate);
+        ReflectionTestUtils.setField(registry, "ttlSeconds", 3_600L);
+        ReflectionTestUtils.setField(registry, "maxSize", 100L);
+        ReflectionTestUtils.invokeMethod(registry, "init");
+        return registry;
+    }
+
+    static User user(int roleCount) {
+        Set<Role> roles = new HashSet<>();
+        for (int i = 0; i < roleCount; i++) {
+            roles.add(Role.builder().id((long) i + 1).name(ROLE_NAMES[i]).build());
+        }
+        return User.builder()
+                .id(42L)
+                .username("benchmark")
+                .email("benchmark@gmail.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6xF1tO4R8gIuH1dPHOeIhMe")
+                .profileVersion(3L)
+                .roles(roles)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.management;
+
+import com.management.config.AuthPrincipal;
+import com.management.config.AuthoritySets;
+import com.management.config.JwtAuthenticationFilter;
+import com.management.config.JwtService;
+import com.management.entity.Role;
+import com.management.entity.User;
+import com.management.service.imp.UserServiceImpl;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through JwtAuthenticationFilter with a cached
+ * token. The user lookup is stubbed in memory, so this measures the
+ * filter's own work: header parsing, verification, principal and
+ * Authentication building. stateless=true skips the lookup entirely.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        JwtService jwtService = BenchmarkFixtures.jwtService(10_000);
+        User user = BenchmarkFixtures.user(2);
+
+        filter = new JwtAuthenticationFilter(jwtService, new StubbedUserLookup(user));
+        ReflectionTestUtils.setField(filter, "statelessMode", stateless);
+
+        request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.setServletPath("/api/users/me");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(user));
+        response = new MockHttpServletResponse();
+        chain = (servletRequest, servletResponse) -> { };
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        try {
+            // OncePerRequestFilter clears its "already filtered" marker itself
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Answers loadUserByUsername from memory; nothing else is called by the filter
+    private static final class StubbedUserLookup extends UserServiceImpl {
+
+        private final UserDetails principal;
+
+        StubbedUserLookup(User user) {
+            super(null, null, null, null, null);
+            this.principal = new AuthPrincipal(user.getEmail(), user.getPassword(),
+                    AuthoritySets.of(user.getRoles().stream().map(Role::getName).toList()));
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String email) {
+            return principal;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.management;
+
+import com.management.config.JwtService;
+import com.management.config.VerifiedToken;
+import com.management.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. verifyCached is the steady state of a
+ * client reusing its token (SHA-256 digest + cache hit); verifyUncached is
+ * the first request with a token (full parse + HMAC check).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    @Param({"1", "4"})
+    public int roleCount;
+
+    private JwtService cachingService;
+    private JwtService uncachedService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingService = BenchmarkFixtures.jwtService(10_000);
+        uncachedService = BenchmarkFixtures.jwtService(0);
+        user = BenchmarkFixtures.user(roleCount);
+        token = cachingService.generateToken(user);
+        cachingService.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingService.generateToken(user);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachingService.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncachedService.verify(token);
+    }
+}
@@ -0,0 +1,48 @@
+package com.management;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.config.KafkaProducerConfig;
+import com.management.dto.event.UserEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserEvent to and from JSON with the ObjectMapper from KafkaProducerConfig,
+ * i.e. the per-event cost on the outbox relay and in the user-events consumer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class UserEventSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private UserEvent event;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new KafkaProducerConfig().kafkaObjectMapper();
+        event = UserEvent.builder()
+                .userId(42L)
+                .email("benchmark@gmail.com")
+                .eventType("REGISTERED")
+                .timestamp(LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_000_000))
+                .build();
+        json = objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public UserEvent deserialize() throws Exception {
+        return objectMapper.readValue(json, UserEvent.class);
+    }
+}
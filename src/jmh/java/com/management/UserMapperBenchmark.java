@@ -0,0 +1,39 @@
+package com.management;
+
+import com.management.dto.response.UserProfileResponse;
+import com.management.entity.User;
+import com.management.mapper.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserMapper.toResponse, run for every /api/users/me cache miss and every
+ * admin listing row. Cost grows with the role set, which is streamed and
+ * copied into a new Set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    @Param({"1", "3", "8"})
+    public int roleCount;
+
+    private UserMapper userMapper;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapper();
+        user = BenchmarkFixtures.user(roleCount);
+    }
+
+    @Benchmark
+    public UserProfileResponse toResponse() {
+        return userMapper.toResponse(user);
+    }
+}
@@ -0,0 +1,55 @@
+package com.management.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Set;
+
+/**
+ * Immutable principal for the per-request auth path: just the email, the
+ * password hash and a shared (interned) authority set — no username,
+ * lastLogin or Role entities.
+ */
+public final class AuthPrincipal implements UserDetails {
+
+    private final String email;
+    private final String password;
+    private final Set<GrantedAuthority> authorities;
+
+    public AuthPrincipal(String email, String password, Set<GrantedAuthority> authorities) {
+        this.email = email;
+        this.password = password;
+        this.authorities = authorities;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Set<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof AuthPrincipal principal && email.equals(principal.email);
+    }
+
+    @Override
+    public int hashCode() {
+        return email.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        // Never print the hash
+        return "AuthPrincipal[" + email + ", " + authorities + "]";
+    }
+}
@@ -0,0 +1,50 @@
+package com.management.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Interned, immutable authority sets. Users with the same role combination
+ * share one Set instance (and its SimpleGrantedAuthority objects), so the
+ * auth path allocates nothing per request for authorities.
+ */
+public final class AuthoritySets {
+
+    // Role combinations are few; the bound only guards against abuse
+    private static final int MAX_INTERNED = 1024;
+
+    private static final ConcurrentHashMap<Set<String>, Set<GrantedAuthority>> INTERNED =
+            new ConcurrentHashMap<>();
+
+    private AuthoritySets() {
+    }
+
+    public static Set<GrantedAuthority> of(Collection<String> roleNames) {
+
+        Set<String> key = Set.copyOf(roleNames);
+
+        Set<GrantedAuthority> cached = INTERNED.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Set<GrantedAuthority> authorities = build(key);
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return authorities;
+        }
+        Set<GrantedAuthority> previous = INTERNED.putIfAbsent(key, authorities);
+        return previous != null ? previous : authorities;
+    }
+
+    private static Set<GrantedAuthority> build(Set<String> roleNames) {
+        // IMPORTANT: role names already contain ROLE_
+        return roleNames.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,75 @@
+package com.management.config;
+
+import com.management.exception.ServiceUnavailableException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+/**
+ * Runs every hash/verify of the delegate on a dedicated, size-limited executor.
+ * When the executor's queue is full the call fails fast with
+ * ServiceUnavailableException (503) instead of piling BCrypt work onto
+ * every servlet thread during a login burst. The caller waits at most
+ * timeoutMs for its turn plus the hash; past that it gets a 503 as well,
+ * and a task that has not started yet is cancelled.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final long timeoutMs;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, long timeoutMs) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Only inspects the hash prefix/cost — cheap, stays on the caller thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Raw encoder, for callers that bring their own bounded pool (bulk import)
+    public PasswordEncoder delegate() {
+        return delegate;
+    }
+
+    private <T> T run(Callable<T> task) {
+
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceUnavailableException("Server is busy, please retry shortly");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // Queued tasks never start; a running hash cannot be interrupted and just finishes
+            future.cancel(true);
+            throw new ServiceUnavailableException("Server is busy, please retry shortly");
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password check interrupted");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
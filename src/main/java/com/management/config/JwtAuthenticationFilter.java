@@ -6,6 +6,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,6 +23,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserServiceImpl userService;  // must implement UserDetailsService
 
+    // true = build the Authentication from verified claims only (no DB lookup)
+    @Value("${jwt.stateless:false}")
+    private boolean statelessMode;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -49,7 +54,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String jwt = authHeader.substring(7);
-        String userEmail = jwtService.extractEmail(jwt);
+
+        // Parsed and signature-checked once (or served from the verified-token cache)
+        VerifiedToken token = jwtService.verify(jwt);
+
+        if (statelessMode) {
+            authenticateFromClaims(token, request);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String userEmail = token.email();
 
         if (userEmail != null &&
                 SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -57,7 +72,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             UserDetails userDetails =
                     userService.loadUserByUsername(userEmail);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (jwtService.isTokenValid(token, userDetails)) {
 
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
@@ -78,4 +93,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private void authenticateFromClaims(VerifiedToken token, HttpServletRequest request) {
+
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+
+        // Stale token version (roles changed) — leave request unauthenticated
+        if (token.email() == null || !jwtService.isVersionCurrent(token)) {
+            return;
+        }
+
+        // Same principal type as loadUserByUsername, so controllers are unaffected
+        UserDetails principal = new AuthPrincipal(
+                token.email(),
+                "",
+                AuthoritySets.of(token.roles())
+        );
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        principal.getAuthorities()
+                );
+
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource()
+                        .buildDetails(request)
+        );
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(authToken);
+    }
 }
\ No newline at end of file
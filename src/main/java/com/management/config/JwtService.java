@@ -1,29 +1,68 @@
 package com.management.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import com.management.entity.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_VERSION = "ver";
+
+    private final TokenVersionRegistry tokenVersionRegistry;
+
     @Value("${jwt.secret}")
     private String SECRET;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    // Built once — SecretKey and JwtParser are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Verified tokens keyed by SHA-256 digest, each evicted at its own exp
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .build();
     }
 
     public String generateToken(User user) {
@@ -35,41 +74,100 @@ public class JwtService {
 
         return Jwts.builder()
                 .subject(user.getEmail())
-                .claim("roles", roles)
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_USER_ID, user.getId())
+                // Same row read as the roles above, so the version always matches them
+                .claim(CLAIM_VERSION, user.getProfileVersion())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    // Single entry point: parse + verify once, then serve repeats from cache.
+    // Invalid or expired tokens throw the usual JwtException and are never cached.
+    public VerifiedToken verify(String token) {
+        return verifiedTokens.get(digest(token), key -> parse(token));
+    }
+
     public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+        return verify(token).email();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(verify(token), userDetails);
+    }
 
-        final String email = extractEmail(token);
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
 
-        if(email.equals(userDetails.getUsername())
-                && !isTokenExpired(token))
+        if(token.email().equals(userDetails.getUsername())
+                && !token.isExpired())
             return true;
         else {
             throw new AccessDeniedException("Invalid token");
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token)
-                .getExpiration()
-                .before(new Date());
+    // Stateless mode: token is only accepted while its version is current
+    public boolean isVersionCurrent(VerifiedToken token) {
+        return tokenVersionRegistry.isCurrent(token.userId(), token.version());
     }
 
-    private Claims extractAllClaims(String token) {
+    private VerifiedToken parse(String token) {
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get(CLAIM_USER_ID, Long.class),
+                claims.get(CLAIM_VERSION, Long.class),
+                extractRoles(claims),
+                claims.getExpiration().toInstant()
+        );
+    }
 
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private Set<String> extractRoles(Claims claims) {
+
+        Collection<?> roles = claims.get(CLAIM_ROLES, List.class);
+
+        if (roles == null) {
+            return Set.of();
+        }
+
+        return roles.stream()
+                .map(String::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is mandatory on every JVM
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static class ExpireAtTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long nanos = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+            return Math.max(nanos, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value,
+                                      long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
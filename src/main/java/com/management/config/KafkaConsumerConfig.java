@@ -3,16 +3,20 @@ package com.management.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.management.dto.event.CacheInvalidationEvent;
 import com.management.dto.event.UserEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
@@ -25,6 +29,23 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // Listener containers (each one owns a consumer / a share of the partitions)
+    @Value("${events.consumer.concurrency:1}")
+    private int concurrency;
+
+    @Value("${events.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    // Boot only applies this to its own listener factory, not to the ones declared here
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final MeterRegistry meterRegistry;
+
+    public KafkaConsumerConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     public ConsumerFactory<String, UserEvent> consumerFactory() {
         ObjectMapper mapper = new ObjectMapper();
@@ -40,8 +61,15 @@ public class KafkaConsumerConfig {
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, "user-group");
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
 
-        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), deserializer);
+        DefaultKafkaConsumerFactory<String, UserEvent> factory =
+                new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), deserializer);
+
+        // Exposes the client metrics, incl. kafka.consumer.fetch.manager.records.lag.max
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+
+        return factory;
     }
 
     @Bean
@@ -49,6 +77,48 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, UserEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // Listener receives the whole poll as List<UserEvent>
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        useVirtualThreadsIfEnabled(factory, "user-events-consumer-");
+        return factory;
+    }
+
+    // Cache invalidation bus: small messages, one record at a time, group id set per listener
+    @Bean
+    public ConsumerFactory<String, CacheInvalidationEvent> cacheInvalidationConsumerFactory() {
+
+        JsonDeserializer<CacheInvalidationEvent> deserializer =
+                new JsonDeserializer<>(CacheInvalidationEvent.class, new ObjectMapper());
+        deserializer.setRemoveTypeHeaders(true);
+        deserializer.addTrustedPackages("*");
+        deserializer.setUseTypeMapperForKey(false);
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), deserializer);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CacheInvalidationEvent> cacheInvalidationListenerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, CacheInvalidationEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cacheInvalidationConsumerFactory());
+        useVirtualThreadsIfEnabled(factory, "cache-invalidation-consumer-");
         return factory;
     }
-}
\ No newline at end of file
+
+    // Consumer threads spend most of their time blocked in poll() / the listener's IO
+    private void useVirtualThreadsIfEnabled(
+            ConcurrentKafkaListenerContainerFactory<?, ?> factory, String threadNamePrefix) {
+
+        if (!virtualThreads) {
+            return;
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
+}
@@ -0,0 +1,55 @@
+package com.management.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.kafka.support.ProducerListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivery tracking for every KafkaTemplate send (direct publisher and outbox relay).
+ * Spring Boot wires this into the auto-configured KafkaTemplate in place of
+ * the default LoggingProducerListener. Callbacks run on the producer's I/O
+ * thread, so results are recorded as metrics instead of per-event INFO logs.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KafkaDeliveryMetrics implements ProducerListener<Object, Object> {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void onSuccess(ProducerRecord<Object, Object> record, RecordMetadata metadata) {
+
+        // Record timestamp is stamped by the producer at send() time
+        if (metadata.hasTimestamp()) {
+            long latencyMs = Math.max(0, System.currentTimeMillis() - metadata.timestamp());
+            Timer.builder("kafka.delivery.latency")
+                    .description("Time from send() to broker acknowledgement")
+                    .tag("topic", record.topic())
+                    .register(meterRegistry)
+                    .record(latencyMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void onError(ProducerRecord<Object, Object> record, RecordMetadata metadata, Exception exception) {
+
+        Counter.builder("kafka.delivery.failures")
+                .description("Records the broker did not acknowledge")
+                .tag("topic", record.topic())
+                .tag("exception", exception.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+
+        log.warn("Kafka delivery failed → Topic: {}, Key: {}, Error: {}",
+                record.topic(), record.key(), exception.getMessage());
+    }
+}
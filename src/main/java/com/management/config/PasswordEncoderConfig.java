@@ -0,0 +1,104 @@
+package com.management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT_ID = "bcrypt";
+
+    /**
+     * Dedicated pool for BCrypt work. Bounded queue + AbortPolicy:
+     * once full, BoundedPasswordEncoder turns the rejection into a 503.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(
+            @Value("${security.password.hashing.threads:0}") int threads,
+            @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * {bcrypt}-prefixed hashes at the calibrated cost. Legacy un-prefixed
+     * hashes (e.g. the V2 admin seed) still match, and are re-hashed by
+     * AuthServiceImpl.login on the next successful login — as are hashes
+     * stored with a lower cost than the current one.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            ThreadPoolExecutor passwordHashingExecutor,
+            @Value("${security.password.bcrypt.strength:0}") int strength,
+            @Value("${security.password.bcrypt.min-strength:10}") int minStrength,
+            @Value("${security.password.bcrypt.max-strength:14}") int maxStrength,
+            @Value("${security.password.bcrypt.target-ms:250}") long targetMs,
+            @Value("${security.password.hashing.timeout-ms:2000}") long timeoutMs
+    ) {
+        int cost = strength > 0
+                ? strength
+                : calibrateStrength(minStrength, maxStrength, targetMs);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(
+                BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(delegating, passwordHashingExecutor, timeoutMs);
+    }
+
+    // Highest cost whose single hash stays within the latency target
+    static int calibrateStrength(int minStrength, int maxStrength, long targetMs) {
+
+        // Warm-up so the first measurement isn't dominated by JIT/class loading
+        new BCryptPasswordEncoder(4).encode("calibration-probe");
+
+        int chosen = minStrength;
+
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(cost).encode("calibration-probe");
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            log.info("BCrypt calibration → cost: {}, time: {} ms", cost, elapsedMs);
+
+            if (elapsedMs > targetMs) {
+                break;
+            }
+            chosen = cost;
+        }
+
+        log.info("BCrypt cost selected: {} (target {} ms)", chosen, targetMs);
+        return chosen;
+    }
+}
@@ -0,0 +1,70 @@
+package com.management.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-user token version, read from users.profile_version.
+ * Every issued JWT carries the version of the user row it was built from in
+ * the "ver" claim. Role changes bump the column in the same transaction as
+ * the roles, so a token issued before the change no longer matches and is
+ * rejected in stateless mode, on every node and across restarts.
+ * Versions are cached briefly; role changes evict them after commit, here and
+ * on the other nodes through the cache invalidation bus, and the TTL bounds
+ * how long a lost invalidation can keep an old token alive.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+
+    private static final String VERSION_SQL = "SELECT profile_version FROM users WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${jwt.version-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${jwt.version-cache.max-size:100000}")
+    private long maxSize;
+
+    private Cache<Long, Long> versions;
+
+    @PostConstruct
+    void init() {
+        versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // null = no such user (deleted): no token of theirs is current
+    public Long currentVersion(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return versions.get(userId, this::load);
+    }
+
+    public void evict(Collection<Long> userIds) {
+        versions.invalidateAll(userIds);
+    }
+
+    public boolean isCurrent(Long userId, Long tokenVersion) {
+        return tokenVersion != null
+                && tokenVersion.equals(currentVersion(userId));
+    }
+
+    private Long load(Long userId) {
+        List<Long> found = jdbcTemplate.queryForList(VERSION_SQL, Long.class, userId);
+        return found.isEmpty() ? null : found.get(0);
+    }
+}
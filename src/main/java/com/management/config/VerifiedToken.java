@@ -0,0 +1,25 @@
+package com.management.config;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Immutable result of a single JWT parse + signature check.
+ * Produced once per token by JwtService and shared through its cache.
+ */
+public record VerifiedToken(
+        String email,
+        Long userId,
+        Long version,
+        Set<String> roles,
+        Instant expiresAt
+) {
+
+    public VerifiedToken {
+        roles = roles == null ? Set.of() : Set.copyOf(roles);
+    }
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,62 @@
+package com.management.consumer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed set of single-threaded lanes. Tasks with the same key always land
+ * on the same lane, so they run in submission order, while different keys
+ * run in parallel across lanes.
+ */
+public class KeyOrderedExecutor {
+
+    private final ExecutorService[] lanes;
+
+    public KeyOrderedExecutor(int laneCount, String threadNamePrefix) {
+        this(laneCount, threadNamePrefix, false);
+    }
+
+    /**
+     * @param virtualThreads back each lane with a virtual thread instead of a
+     *                       platform thread (lanes still run one task at a time)
+     */
+    public KeyOrderedExecutor(int laneCount, String threadNamePrefix, boolean virtualThreads) {
+
+        lanes = new ExecutorService[laneCount];
+        AtomicInteger counter = new AtomicInteger();
+
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                String name = threadNamePrefix + counter.incrementAndGet();
+                if (virtualThreads) {
+                    return Thread.ofVirtual().name(name).unstarted(runnable);
+                }
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public CompletableFuture<Void> submit(String key, Runnable task) {
+        return CompletableFuture.runAsync(task, laneFor(key));
+    }
+
+    private ExecutorService laneFor(String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            lane.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -1,20 +1,166 @@
 package com.management.consumer;
 
 import com.management.dto.event.UserEvent;
+import com.management.service.imp.EmailBloomFilter;
+import com.management.service.imp.UserStatsEngine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Component
-public class UserEventConsumer {
+public class UserEventConsumer implements ConsumerSeekAware {
+
+    private final MeterRegistry meterRegistry;
+    private final UserStatsEngine userStatsEngine;
+    private final EmailBloomFilter emailBloomFilter;
+
+    // 0 or 1 = process the batch inline on the listener thread
+    @Value("${events.consumer.workers:4}")
+    private int workers;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private KeyOrderedExecutor executor;
+
+    private DistributionSummary batchSize;
+    private Timer batchTimer;
+
+    public UserEventConsumer(MeterRegistry meterRegistry,
+                             UserStatsEngine userStatsEngine,
+                             EmailBloomFilter emailBloomFilter) {
+        this.meterRegistry = meterRegistry;
+        this.userStatsEngine = userStatsEngine;
+        this.emailBloomFilter = emailBloomFilter;
+    }
+
+    @PostConstruct
+    void start() {
+        if (workers > 1) {
+            executor = new KeyOrderedExecutor(workers, "user-events-worker-", virtualThreads);
+        }
+
+        batchSize = DistributionSummary.builder("user_events.consumer.batch.size")
+                .description("Events per listener batch")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("user_events.consumer.batch.duration")
+                .description("Time to process one listener batch")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Positions are fixed by now, so every later REGISTERED event reaches
+     * consumeForStats; users committed since the startup scan are read from
+     * the database instead. Cheap and idempotent, so it runs on every
+     * assignment of either listener.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        emailBloomFilter.catchUp();
+    }
 
+    /**
+     * Whole poll at once. Events are spread over the worker lanes by key
+     * (the email set by the publisher), so per-user order is preserved.
+     * Returns only when the whole batch is done, so offsets are committed
+     * after processing.
+     */
     @KafkaListener(
             topics = "user-events",
             groupId = "user-group",
             containerFactory = "kafkaListenerContainerFactory"
     )
-    public void consume(UserEvent event) {
+    public void consume(List<UserEvent> events) {
+
+        batchSize.record(events.size());
+
+        batchTimer.record(() -> {
+
+            if (executor == null) {
+                events.forEach(this::handleSafely);
+                return;
+            }
+
+            List<CompletableFuture<Void>> pending = new ArrayList<>(events.size());
+            for (UserEvent event : events) {
+                if (event == null) {
+                    continue;
+                }
+                pending.add(executor.submit(event.getEmail(), () -> handleSafely(event)));
+            }
+
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        });
+    }
+
+    /**
+     * Feeds per-node in-memory state: the admin stats and the email Bloom
+     * filter (so users registered or imported on other nodes are known here).
+     * Every node needs every event, so this listener uses its own per-instance
+     * group. The group name is stable, so a restart resumes where the node
+     * left off instead of leaving an orphaned group behind; a brand-new
+     * instance starts from "latest", as both are bootstrapped from the database.
+     */
+    @KafkaListener(
+            topics = "user-events",
+            groupId = "user-stats-${events.instance-id}",
+            containerFactory = "kafkaListenerContainerFactory",
+            properties = "auto.offset.reset=latest"
+    )
+    public void consumeForStats(List<UserEvent> events) {
+
+        for (UserEvent event : events) {
+            if (event == null || event.getEventType() == null) {
+                continue;
+            }
+            switch (event.getEventType()) {
+                case "REGISTERED" -> {
+                    userStatsEngine.onRegistered();
+                    emailBloomFilter.put(event.getEmail());
+                }
+                case "LOGIN" -> userStatsEngine.onLogin(
+                        event.getUserId(), event.getEmail(), event.getTimestamp());
+                default -> { }
+            }
+        }
+    }
+
+    private void handleSafely(UserEvent event) {
+        if (event == null) {
+            return;
+        }
+        try {
+            handle(event);
+        } catch (Exception ex) {
+            // One bad event must not stall the rest of the batch
+            log.error("Failed to process event → Type: {}, Email: {}, Error: {}",
+                    event.getEventType(), event.getEmail(), ex.getMessage());
+        }
+    }
+
+    private void handle(UserEvent event) {
         log.info("Received Kafka Event → Type: {}, Email: {}, Time: {}",
                 event.getEventType(),
                 event.getEmail(),
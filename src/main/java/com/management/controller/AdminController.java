@@ -1,15 +1,27 @@
 package com.management.controller;
 
 import com.management.dto.response.AdminStatsResponse;
+import com.management.dto.response.AuditLogPageResponse;
+import com.management.dto.response.ImportResultResponse;
 import com.management.service.AdminService;
+import com.management.service.AuditQueryService;
+import com.management.service.UserExportService;
+import com.management.service.UserImportService;
 import io.swagger.v3.oas.annotations.*;
 import io.swagger.v3.oas.annotations.responses.*;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -19,16 +31,76 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
     private final AdminService adminService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
+    private final AuditQueryService auditQueryService;
 
-    @Operation(summary = "Get system statistics")
+    @Operation(summary = "Get system statistics (recent logins are paginated by cursor)")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Stats fetched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "403", description = "Access denied")
     })
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/stats")
-    public ResponseEntity<AdminStatsResponse> getStats() {
+    public ResponseEntity<AdminStatsResponse> getStats(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+
+        return ResponseEntity.ok(adminService.getStats(size, cursor));
+    }
+
+    @Operation(summary = "Export all users as NDJSON or CSV (streamed)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        // Validate before the response is committed
+        UserExportService.Format exportFormat = UserExportService.Format.from(format);
+
+        StreamingResponseBody body = out -> userExportService.exportUsers(exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"users." + exportFormat.extension() + "\"")
+                .body(body);
+    }
+
+    @Operation(summary = "Bulk import users from an NDJSON stream (one register request per line)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished (see counts)"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/users/import", consumes = {"application/x-ndjson", "text/plain"})
+    public ResponseEntity<ImportResultResponse> importUsers(InputStream body) {
+
+        return ResponseEntity.ok(userImportService.importUsers(body));
+    }
+
+    @Operation(summary = "Search the audit log (newest first, paginated by cursor)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Audit entries fetched"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, time range or action prefix"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/audit")
+    public ResponseEntity<AuditLogPageResponse> searchAudit(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor) {
 
-        return ResponseEntity.ok(adminService.getStats());
+        return ResponseEntity.ok(auditQueryService.search(userId, action, from, to, size, cursor));
     }
-}
\ No newline at end of file
+}
@@ -3,11 +3,14 @@ package com.management.controller;
 import com.management.dto.request.LoginRequest;
 import com.management.dto.request.RegisterRequest;
 import com.management.dto.response.AuthResponse;
+import com.management.dto.response.EmailAvailabilityResponse;
 import com.management.dto.response.RegisterResponse;
 import com.management.service.AuthService;
+import com.management.service.EmailAvailabilityService;
 import io.swagger.v3.oas.annotations.*;
 import io.swagger.v3.oas.annotations.responses.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
@@ -20,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final EmailAvailabilityService emailAvailabilityService;
 
     @Operation(summary = "Register new user")
     @ApiResponses({
@@ -40,14 +44,34 @@ public class AuthController {
     @Operation(summary = "Login user and generate JWT token")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Login successful"),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts for this email or IP")
     })
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(
-            @Valid @RequestBody LoginRequest request) {
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
 
-        AuthResponse response = authService.login(request);
+        // Client address; honours X-Forwarded-For when FORWARD_HEADERS_STRATEGY is set
+        AuthResponse response = authService.login(request, httpRequest.getRemoteAddr());
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Check whether an email can still be registered")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Availability checked"),
+            @ApiResponse(responseCode = "400", description = "Invalid email")
+    })
+    @GetMapping("/email-availability")
+    public ResponseEntity<EmailAvailabilityResponse> emailAvailability(
+            @RequestParam String email) {
+
+        return ResponseEntity.ok(
+                EmailAvailabilityResponse.builder()
+                        .email(email)
+                        .available(emailAvailabilityService.isAvailable(email))
+                        .build()
+        );
+    }
+}
@@ -1,10 +1,13 @@
 package com.management.controller;
 
+import com.management.dto.request.BulkRoleRequest;
+import com.management.dto.response.BulkRoleResponse;
 import com.management.service.RoleService;
 import io.swagger.v3.oas.annotations.*;
 import io.swagger.v3.oas.annotations.responses.*;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -52,4 +55,32 @@ public class RoleController {
 
         return ResponseEntity.ok("Role assigned successfully");
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Assign a role to many users by id list or email domain (ADMIN only)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Roles assigned"),
+            @ApiResponse(responseCode = "400", description = "Neither or both of userIds / emailDomain given"),
+            @ApiResponse(responseCode = "404", description = "Role not found")
+    })
+    @PostMapping("/roles/bulk-assign")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkRoleResponse> bulkAssign(
+            @Valid @RequestBody BulkRoleRequest request) {
+
+        return ResponseEntity.ok(roleService.bulkAssign(request));
+    }
+
+    @Operation(summary = "Revoke a role from many users by id list or email domain (ADMIN only)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Roles revoked"),
+            @ApiResponse(responseCode = "400", description = "Neither or both of userIds / emailDomain given"),
+            @ApiResponse(responseCode = "404", description = "Role not found")
+    })
+    @PostMapping("/roles/bulk-revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkRoleResponse> bulkRevoke(
+            @Valid @RequestBody BulkRoleRequest request) {
+
+        return ResponseEntity.ok(roleService.bulkRevoke(request));
+    }
+}
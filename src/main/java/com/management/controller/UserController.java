@@ -1,5 +1,6 @@
 package com.management.controller;
 
+import com.management.config.AuthPrincipal;
 import com.management.dto.response.UserProfileResponse;
 import com.management.service.UserService;
 import io.swagger.v3.oas.annotations.*;
@@ -7,9 +8,11 @@ import io.swagger.v3.oas.annotations.responses.*;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/users")
@@ -23,17 +26,27 @@ public class UserController {
     @Operation(summary = "Get current authenticated user profile")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Profile fetched"),
+            @ApiResponse(responseCode = "304", description = "Profile unchanged (If-None-Match)"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/me")
     public ResponseEntity<UserProfileResponse> getCurrentUser(
-            @AuthenticationPrincipal org.springframework.security.core.userdetails.User principal
+            @AuthenticationPrincipal AuthPrincipal principal,
+            WebRequest webRequest
     ) {
 
         String email = principal.getUsername();
 
-        return ResponseEntity.ok(
-                userService.getCurrentUserProfile(email)
-        );
+        // Served from the profile cache; unchanged profiles get a bodiless 304
+        UserProfileResponse profile = userService.getCurrentUserProfile(email);
+
+        if (webRequest.checkNotModified(profile.getETag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(profile.getETag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(profile);
     }
 }
\ No newline at end of file
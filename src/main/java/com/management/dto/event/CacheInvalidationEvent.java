@@ -0,0 +1,16 @@
+package com.management.dto.event;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CacheInvalidationEvent {
+
+    private String cacheName;   // e.g. currentUser
+    private List<String> keys;
+    private List<Long> userIds; // users whose Hibernate L2 entries (User, User.roles) go too
+    private String origin;      // node id of the publisher (it has evicted already)
+}
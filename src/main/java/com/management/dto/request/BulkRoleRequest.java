@@ -0,0 +1,20 @@
+package com.management.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkRoleRequest {
+
+    @NotBlank(message = "Role name is required")
+    private String roleName;
+
+    // Either an explicit id list ...
+    private List<Long> userIds;
+
+    // ... or a filter: every user whose email ends with "@<emailDomain>"
+    private String emailDomain;
+}
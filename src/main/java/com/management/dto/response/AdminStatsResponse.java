@@ -11,6 +11,9 @@ public class AdminStatsResponse {
     private long totalUsers;
     private List<UserLoginInfo> recentLogins;
 
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+
     @Builder
     @Data
     @AllArgsConstructor
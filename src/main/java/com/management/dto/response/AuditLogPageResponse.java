@@ -0,0 +1,27 @@
+package com.management.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+public class AuditLogPageResponse {
+
+    private List<Entry> entries;
+
+    // Pass back as ?cursor= (with the same filters) for the next page; null on the last page
+    private String nextCursor;
+
+    @Builder
+    @Data
+    @AllArgsConstructor
+    public static class Entry {
+        private Long id;
+        private String action;
+        private Long userId;
+        private LocalDateTime timestamp;
+    }
+}
@@ -0,0 +1,15 @@
+package com.management.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRoleResponse {
+
+    private String roleName;
+    private long requested;   // ids given, or users matched by the filter
+    private long changed;     // users actually granted / revoked the role
+}
@@ -0,0 +1,14 @@
+package com.management.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailAvailabilityResponse {
+
+    private String email;
+    private boolean available;
+}
@@ -0,0 +1,18 @@
+package com.management.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResultResponse {
+
+    private long received;
+    private long imported;
+    private long duplicates;
+    private long invalid;
+    private long durationMs;
+    private long usersPerSecond;
+}
@@ -1,5 +1,6 @@
 package com.management.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -13,4 +14,14 @@ public class UserProfileResponse {
     private String username;
     private String email;
     private Set<String> roles;
+
+    // ETag source only, not part of the body
+    @JsonIgnore
+    private Long version;
+
+    // Strong ETag: per user and per profile revision
+    @JsonIgnore
+    public String getETag() {
+        return "\"" + id + "-" + version + "\"";
+    }
 }
\ No newline at end of file
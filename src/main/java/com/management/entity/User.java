@@ -2,12 +2,20 @@ package com.management.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
 @Table(name = "users")
+// lastLogin is written behind over JDBC, so a cached entity may carry an
+// older value — read it through UserRepository projections, not the entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,6 +29,7 @@ public class User {
 
     private String username;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -28,6 +37,12 @@ public class User {
 
     private LocalDateTime lastLogin;
 
+    // Profile revision (ETag source). JDBC writers (role changes) bump it explicitly.
+    @Version
+    @Column(name = "profile_version", nullable = false)
+    private Long profileVersion;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
             name = "user_roles",
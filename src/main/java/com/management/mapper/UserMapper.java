@@ -28,6 +28,7 @@ public class UserMapper {
                 .id(user.getId())
                 .username(user.getUsername())
                 .email(user.getEmail())
+                .version(user.getProfileVersion())
                 .roles(
                         user.getRoles()
                                 .stream()
@@ -4,5 +4,6 @@ package com.management.repository;
 import com.management.entity.AuditLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+// Keyset audit queries come from AuditLogRepositoryCustom (plain JDBC)
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
 }
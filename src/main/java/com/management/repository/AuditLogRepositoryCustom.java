@@ -0,0 +1,22 @@
+package com.management.repository;
+
+import com.management.entity.AuditLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * One keyset page, newest first (timestamp DESC, id DESC). Null filters
+     * are left out of the SQL entirely so each shape gets its own index.
+     * beforeTimestamp / beforeId is the last row of the previous page.
+     */
+    List<AuditLog> findPage(Long userId, String action,
+                            LocalDateTime from, LocalDateTime to,
+                            LocalDateTime beforeTimestamp, Long beforeId,
+                            int limit);
+
+    // Distinct actions with this prefix (loose scan of idx_audit_action_ts)
+    List<String> findActionsStartingWith(String prefix);
+}
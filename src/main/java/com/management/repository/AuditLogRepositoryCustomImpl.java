@@ -0,0 +1,78 @@
+package com.management.repository;
+
+import com.management.entity.AuditLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuditLogRepositoryCustomImpl implements AuditLogRepositoryCustom {
+
+    private static final RowMapper<AuditLog> ROW_MAPPER = (rs, rowNum) -> AuditLog.builder()
+            .id(rs.getLong("id"))
+            .action(rs.getString("action"))
+            .userId(rs.getObject("user_id", Long.class))
+            .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditLogRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<AuditLog> findPage(Long userId, String action,
+                                   LocalDateTime from, LocalDateTime to,
+                                   LocalDateTime beforeTimestamp, Long beforeId,
+                                   int limit) {
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, action, user_id, timestamp FROM audit_logs WHERE timestamp IS NOT NULL");
+        List<Object> args = new ArrayList<>();
+
+        if (userId != null) {
+            sql.append(" AND user_id = ?");
+            args.add(userId);
+        }
+        if (action != null) {
+            sql.append(" AND action = ?");
+            args.add(action);
+        }
+        if (from != null) {
+            sql.append(" AND timestamp >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND timestamp < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        if (beforeTimestamp != null) {
+            sql.append(" AND (timestamp < ? OR (timestamp = ? AND id < ?))");
+            args.add(Timestamp.valueOf(beforeTimestamp));
+            args.add(Timestamp.valueOf(beforeTimestamp));
+            args.add(beforeId);
+        }
+
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    @Override
+    public List<String> findActionsStartingWith(String prefix) {
+
+        // Backslash is MySQL's default LIKE escape; "_" is common in action names
+        String escaped = prefix.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT action FROM audit_logs WHERE action LIKE ?",
+                String.class, escaped + "%");
+    }
+}
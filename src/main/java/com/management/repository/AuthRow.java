@@ -0,0 +1,5 @@
+package com.management.repository;
+
+// One row per (user, role) of the auth query; roleName is null for a user without roles
+public record AuthRow(String email, String password, String roleName) {
+}
@@ -3,10 +3,7 @@ import com.management.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
+// findByName comes from RoleRepositoryCustom (natural-id lookup)
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
-
-    Optional<Role> findByName(String name);
+public interface RoleRepository extends JpaRepository<Role, Long>, RoleRepositoryCustom {
 }
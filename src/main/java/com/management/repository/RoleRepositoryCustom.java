@@ -0,0 +1,11 @@
+package com.management.repository;
+
+import com.management.entity.Role;
+
+import java.util.Optional;
+
+public interface RoleRepositoryCustom {
+
+    // Natural-id lookup (served from the second-level cache when warm)
+    Optional<Role> findByName(String name);
+}
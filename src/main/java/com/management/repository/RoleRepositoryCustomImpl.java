@@ -0,0 +1,24 @@
+package com.management.repository;
+
+import com.management.entity.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class RoleRepositoryCustomImpl implements RoleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Roles almost never change: name → id → entity all come from cache
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Role> findByName(String name) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Role.class)
+                .loadOptional(name);
+    }
+}
@@ -0,0 +1,13 @@
+package com.management.repository;
+
+import java.time.LocalDateTime;
+
+// Projection for admin recent-logins — only the three columns, no roles
+public interface UserLoginView {
+
+    Long getId();
+
+    String getEmail();
+
+    LocalDateTime getLastLogin();
+}
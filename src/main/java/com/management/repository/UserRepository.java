@@ -1,15 +1,66 @@
 package com.management.repository;
 
 import com.management.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+// findByEmail comes from UserRepositoryCustom (natural-id lookup)
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     boolean existsByEmail(String email);
+
+    // Auth path: email, hash and role names in one joined select, no entities
+    // (users side covered by idx_users_auth)
+    @Query("select new com.management.repository.AuthRow(u.email, u.password, r.name) " +
+            "from User u left join u.roles r where u.email = :email")
+    List<AuthRow> findAuthRowsByEmail(@Param("email") String email);
+
+    // Set-based duplicate check (bulk import)
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Id only, straight from the unique email index — no entity load
+    @Query("select u.id from User u where u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    // User + roles in one joined select (login path)
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByEmail(String email);
+
+    // Recent logins, keyset-paginated on (lastLogin, id) — served by idx_users_last_login
+
+    @Query("select u.id as id, u.email as email, u.lastLogin as lastLogin from User u " +
+            "where u.lastLogin is not null " +
+            "order by u.lastLogin desc, u.id desc")
+    List<UserLoginView> findRecentLogins(Pageable pageable);
+
+    @Query("select u.id as id, u.email as email, u.lastLogin as lastLogin from User u " +
+            "where u.lastLogin < :lastLogin or (u.lastLogin = :lastLogin and u.id < :id) " +
+            "order by u.lastLogin desc, u.id desc")
+    List<UserLoginView> findRecentLoginsBefore(@Param("lastLogin") LocalDateTime lastLogin,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    // Stored lastLogin of one user (primary key lookup)
+    @Query("select u.lastLogin from User u where u.id = :id")
+    Optional<LocalDateTime> findLastLoginById(@Param("id") Long id);
+
+    // Direct UPDATEs — no load/merge of the entity first
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.management.repository;
+
+import com.management.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    // Natural-id lookup (served from the second-level cache when warm)
+    Optional<User> findByEmail(String email);
+}
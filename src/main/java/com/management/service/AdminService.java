@@ -3,5 +3,5 @@ package com.management.service;
 import com.management.dto.response.AdminStatsResponse;
 
 public interface AdminService {
-    AdminStatsResponse getStats();
+    AdminStatsResponse getStats(int size, String cursor);
 }
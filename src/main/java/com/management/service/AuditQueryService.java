@@ -0,0 +1,13 @@
+package com.management.service;
+
+import com.management.dto.response.AuditLogPageResponse;
+
+import java.time.LocalDateTime;
+
+public interface AuditQueryService {
+
+    // All filters optional; from inclusive, to exclusive
+    AuditLogPageResponse search(Long userId, String actionPrefix,
+                                LocalDateTime from, LocalDateTime to,
+                                int size, String cursor);
+}
@@ -9,5 +9,5 @@ public interface AuthService {
 
     RegisterResponse register(RegisterRequest request);
 
-    AuthResponse login(LoginRequest request);
+    AuthResponse login(LoginRequest request, String clientIp);
 }
\ No newline at end of file
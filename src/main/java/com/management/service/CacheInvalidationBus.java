@@ -0,0 +1,22 @@
+package com.management.service;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CacheInvalidationBus {
+
+    String CURRENT_USER = "currentUser";
+
+    // Evicts on this node and on every other node via the bus, once the
+    // caller's transaction (if any) has committed
+    void evictAll(String cacheName, Collection<String> keys);
+
+    // Role / profile writes over JDBC: drops the users' cached profiles (by email),
+    // their Hibernate L2 entries (User, User.roles) and their cached token versions
+    // on every node, after commit
+    void evictUsers(Collection<Long> userIds, Collection<String> emails);
+
+    default void evict(String cacheName, String key) {
+        evictAll(cacheName, List.of(key));
+    }
+}
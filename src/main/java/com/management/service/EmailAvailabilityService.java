@@ -0,0 +1,9 @@
+package com.management.service;
+
+public interface EmailAvailabilityService {
+
+    boolean isAvailable(String email);
+
+    // Called once a user with this email is committed
+    void markTaken(String email);
+}
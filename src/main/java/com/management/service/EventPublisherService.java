@@ -2,6 +2,13 @@ package com.management.service;
 
 import com.management.dto.event.UserEvent;
 
+import java.util.List;
+
 public interface EventPublisherService {
     void publish(UserEvent event);
+
+    // One call per chunk; implementations may batch
+    default void publishAll(List<UserEvent> events) {
+        events.forEach(this::publish);
+    }
 }
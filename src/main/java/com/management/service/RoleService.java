@@ -1,33 +1,56 @@
 package com.management.service;
 
+import com.management.dto.request.BulkRoleRequest;
+import com.management.dto.response.BulkRoleResponse;
 import com.management.entity.Role;
-import com.management.entity.User;
 import com.management.exception.DuplicateRoleException;
+import com.management.exception.InvalidRequestException;
 import com.management.exception.RoleAlreadyAssignedException;
 import com.management.exception.RoleNotFoundException;
 import com.management.exception.UserNotFoundException;
 import com.management.repository.RoleRepository;
 import com.management.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class RoleService {
 
+    // Dot-separated DNS labels: letters, digits and inner hyphens, at most 253 chars
+    private static final Pattern HOSTNAME = Pattern.compile(
+            "(?=.{1,253}$)[A-Za-z0-9](?:[A-Za-z0-9-]{0,61}[A-Za-z0-9])?" +
+            "(?:\\.[A-Za-z0-9](?:[A-Za-z0-9-]{0,61}[A-Za-z0-9])?)*");
+
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    // Users per statement / transaction in bulk assign and revoke
+    @Value("${roles.bulk.chunk-size:1000}")
+    private int bulkChunkSize = 1000;
 
     // Create new role
 
     public void createRole(String roleName) {
 
-        String fullRoleName = roleName.startsWith("ROLE_")
-                ? roleName
-                : "ROLE_" + roleName;
+        String fullRoleName = fullRoleName(roleName);
 
         if (roleRepository.findByName(fullRoleName).isPresent()) {
             throw new DuplicateRoleException("Role already exists: " + fullRoleName);
@@ -45,27 +68,203 @@ public class RoleService {
 
     public void assignRole(Long userId, String roleName) {
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() ->
-                        new UserNotFoundException("User not found with id: " + userId));
-
-        String fullRoleName = roleName.startsWith("ROLE_")
-                ? roleName
-                : "ROLE_" + roleName;
+        String fullRoleName = fullRoleName(roleName);
 
         Role role = roleRepository.findByName(fullRoleName)
                 .orElseThrow(() ->
                         new RoleNotFoundException("Role not found: " + fullRoleName));
 
-        if (user.getRoles().contains(role)) {
+        // One INSERT IGNORE instead of load user + roles, contains, merge.
+        // Nothing inserted: find out why only on this (rare) path.
+        int inserted = jdbcTemplate.update(
+                "INSERT IGNORE INTO user_roles (user_id, role_id) VALUES (?, ?)",
+                userId, role.getId());
+
+        if (inserted == 0) {
+
+            if (!userRepository.existsById(userId)) {
+                throw new UserNotFoundException("User not found with id: " + userId);
+            }
             throw new RoleAlreadyAssignedException(
                     "User already has role: " + fullRoleName);
         }
 
-        user.getRoles().add(role);
-        userRepository.save(user);
+        // New profile revision (ETag) — same transaction as the insert
+        jdbcTemplate.update(
+                "UPDATE users SET profile_version = profile_version + 1 WHERE id = ?", userId);
+
+        // Written behind Hibernate's back: drop the cached User / User.roles,
+        // the cached profile (roles) and the cached token version on every node,
+        // once committed — same hook as the bulk path, so no node can re-cache
+        // the old version while the transaction is still open
+        cacheInvalidationBus.evictUsers(List.of(userId),
+                List.of(jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = ?", String.class, userId)));
 
         //  Audit Log for Role Assignment
         auditService.log("ROLE_ASSIGNED:" + fullRoleName, userId);
     }
-}
\ No newline at end of file
+
+    // Bulk assign / revoke: chunked, set-based statements, one transaction per chunk
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkRoleResponse bulkAssign(BulkRoleRequest request) {
+        return bulk(request, true);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkRoleResponse bulkRevoke(BulkRoleRequest request) {
+        return bulk(request, false);
+    }
+
+    private BulkRoleResponse bulk(BulkRoleRequest request, boolean assign) {
+
+        boolean byIds = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        boolean byDomain = request.getEmailDomain() != null && !request.getEmailDomain().isBlank();
+
+        if (byIds == byDomain) {
+            throw new InvalidRequestException("Provide either userIds or emailDomain");
+        }
+
+        String domain = byDomain ? request.getEmailDomain().trim() : null;
+        if (byDomain && !HOSTNAME.matcher(domain).matches()) {
+            throw new InvalidRequestException("Invalid emailDomain: " + domain);
+        }
+
+        String fullRoleName = fullRoleName(request.getRoleName());
+
+        Long roleId = roleRepository.findByName(fullRoleName)
+                .map(Role::getId)
+                .orElseThrow(() ->
+                        new RoleNotFoundException("Role not found: " + fullRoleName));
+
+        long requested = 0;
+        long changed = 0;
+
+        if (byIds) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getUserIds()));
+            requested = ids.size();
+
+            for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + bulkChunkSize, ids.size()));
+                changed += applyChunk(chunk, roleId, fullRoleName, assign);
+            }
+        } else {
+            // Keyset over the matching ids; never materializes the whole group
+            String pattern = "%@" + escapeLike(domain);
+            long lastId = 0;
+
+            while (true) {
+                List<Long> chunk = jdbcTemplate.queryForList(
+                        "SELECT id FROM users WHERE email LIKE ? AND id > ? ORDER BY id LIMIT ?",
+                        Long.class, pattern, lastId, bulkChunkSize);
+
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                requested += chunk.size();
+                changed += applyChunk(chunk, roleId, fullRoleName, assign);
+                lastId = chunk.get(chunk.size() - 1);
+            }
+        }
+
+        return BulkRoleResponse.builder()
+                .roleName(fullRoleName)
+                .requested(requested)
+                .changed(changed)
+                .build();
+    }
+
+    // Returns how many users actually changed
+    private int applyChunk(List<Long> userIds, Long roleId, String fullRoleName, boolean assign) {
+
+        String in = String.join(",", Collections.nCopies(userIds.size(), "?"));
+
+        List<Object> args = new ArrayList<>(userIds.size() + 1);
+        args.add(roleId);
+        args.addAll(userIds);
+
+        List<Member> targets = transactionTemplate.execute(status -> {
+
+            List<Member> affected;
+
+            if (assign) {
+                // Existing users in the chunk that don't have the role yet
+                affected = jdbcTemplate.query(
+                        "SELECT u.id, u.email FROM users u WHERE NOT EXISTS (SELECT 1 FROM user_roles ur " +
+                                "WHERE ur.user_id = u.id AND ur.role_id = ?) AND u.id IN (" + in + ")",
+                        MEMBER_MAPPER, args.toArray());
+
+                if (!affected.isEmpty()) {
+                    List<Object[]> rows = new ArrayList<>(affected.size());
+                    for (Member member : affected) {
+                        rows.add(new Object[]{member.id(), roleId});
+                    }
+                    jdbcTemplate.batchUpdate(
+                            "INSERT IGNORE INTO user_roles (user_id, role_id) VALUES (?, ?)", rows);
+                    bumpProfileVersions(affected);
+                }
+            } else {
+                affected = jdbcTemplate.query(
+                        "SELECT u.id, u.email FROM user_roles ur JOIN users u ON u.id = ur.user_id " +
+                                "WHERE ur.role_id = ? AND ur.user_id IN (" + in + ")",
+                        MEMBER_MAPPER, args.toArray());
+
+                if (!affected.isEmpty()) {
+                    jdbcTemplate.update(
+                            "DELETE FROM user_roles WHERE role_id = ? AND user_id IN (" + in + ")",
+                            args.toArray());
+                    bumpProfileVersions(affected);
+                }
+            }
+            return affected;
+        });
+
+        if (targets == null) {
+            return 0;
+        }
+
+        List<Long> userIdsChanged = targets.stream().map(Member::id).toList();
+
+        // One bus message per chunk for the cached entities, profiles and token
+        // versions (tokens with the old role set stop matching on every node)
+        cacheInvalidationBus.evictUsers(userIdsChanged,
+                targets.stream().map(Member::email).toList());
+
+        String action = (assign ? "ROLE_ASSIGNED:" : "ROLE_REVOKED:") + fullRoleName;
+
+        // After commit: audit entries go through the batching audit writer
+        for (Long userId : userIdsChanged) {
+            auditService.log(action, userId);
+        }
+        return targets.size();
+    }
+
+    // Roles are part of the profile: new revision (ETag) for every changed user
+    private void bumpProfileVersions(List<Member> members) {
+
+        String in = String.join(",", Collections.nCopies(members.size(), "?"));
+
+        jdbcTemplate.update(
+                "UPDATE users SET profile_version = profile_version + 1 WHERE id IN (" + in + ")",
+                members.stream().map(Member::id).toArray());
+    }
+
+    private record Member(Long id, String email) {
+    }
+
+    private static final RowMapper<Member> MEMBER_MAPPER =
+            (rs, rowNum) -> new Member(rs.getLong("id"), rs.getString("email"));
+
+    // Backslash is MySQL's default LIKE escape; "%" or "_" must not widen the match
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private static String fullRoleName(String roleName) {
+        return roleName.startsWith("ROLE_")
+                ? roleName
+                : "ROLE_" + roleName;
+    }
+}
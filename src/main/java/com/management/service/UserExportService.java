@@ -0,0 +1,41 @@
+package com.management.service;
+
+import com.management.exception.InvalidRequestException;
+
+import java.io.OutputStream;
+
+public interface UserExportService {
+
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new InvalidRequestException("Unsupported export format: " + value);
+        }
+    }
+
+    // Returns the number of users written
+    long exportUsers(Format format, OutputStream out);
+}
@@ -0,0 +1,11 @@
+package com.management.service;
+
+import com.management.dto.response.ImportResultResponse;
+
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    // NDJSON: one {"username","email","password"} object per line
+    ImportResultResponse importUsers(InputStream in);
+}
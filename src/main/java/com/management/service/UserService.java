@@ -11,5 +11,7 @@ public interface UserService extends UserDetailsService {
 
     void updateLastLogin(String email);
 
+    void recordLogin(Long userId);
+
     long getTotalUsers();
 }
\ No newline at end of file
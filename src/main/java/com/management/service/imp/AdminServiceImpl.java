@@ -1,38 +1,117 @@
 package com.management.service.imp;
 
 import com.management.dto.response.AdminStatsResponse;
-import com.management.entity.User;
+import com.management.repository.UserLoginView;
 import com.management.repository.UserRepository;
 import com.management.service.AdminService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class AdminServiceImpl implements AdminService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Marks a cursor that walks the stats engine, not the users table.
+    // Not in the base64url alphabet, so it can't collide with a DB cursor.
+    private static final String MEMORY_CURSOR_PREFIX = "m.";
+
     private final UserRepository userRepository;
+    private final UserStatsEngine userStatsEngine;
+
+    // A walk never mixes sources: the engine has event timestamps, while
+    // users.last_login is written behind at second precision.
+    // First page: straight from the in-memory stats engine (no DB work); its
+    // cursor keeps walking the engine. When the engine runs out, the walk
+    // moves to the DB once, from the stored last_login of the last user shown.
+    // Pages larger than the engine's top-K, or DB cursors: one index-ordered
+    // keyset query, still constant memory.
 
     @Override
-    public AdminStatsResponse getStats() {
+    public AdminStatsResponse getStats(int size, String cursor) {
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        if (cursor != null && cursor.startsWith(MEMORY_CURSOR_PREFIX)) {
+            return fromMemory(pageSize,
+                    KeysetCursor.decode(cursor.substring(MEMORY_CURSOR_PREFIX.length())));
+        }
+
+        if ((cursor == null || cursor.isBlank()) && pageSize < userStatsEngine.capacity()) {
+            return fromMemory(pageSize, null);
+        }
+
+        return fromDatabase(pageSize, KeysetCursor.decode(cursor));
+    }
+
+    private AdminStatsResponse fromMemory(int pageSize, KeysetCursor position) {
+
+        // Engine keeps more than pageSize entries, so a full page means there is more
+        List<AdminStatsResponse.UserLoginInfo> recent = position == null
+                ? userStatsEngine.recentLogins(pageSize + 1)
+                : userStatsEngine.recentLoginsAfter(position.timestamp(), position.id(), pageSize + 1);
+
+        if (position != null && recent.size() <= pageSize) {
+            // Engine exhausted: continue from the DB row of the last user shown
+            LocalDateTime stored = userRepository.findLastLoginById(position.id())
+                    .orElse(position.timestamp());
+            return fromDatabase(pageSize, new KeysetCursor(stored, position.id()));
+        }
+
+        boolean hasMore = recent.size() > pageSize;
+        List<AdminStatsResponse.UserLoginInfo> page = hasMore ? recent.subList(0, pageSize) : recent;
+
+        String nextCursor = null;
+        if (hasMore) {
+            AdminStatsResponse.UserLoginInfo last = page.get(page.size() - 1);
+            nextCursor = MEMORY_CURSOR_PREFIX
+                    + new KeysetCursor(last.getLastLogin(), last.getUserId()).encode();
+        }
+
+        return AdminStatsResponse.builder()
+                .totalUsers(userStatsEngine.totalUsers())
+                .recentLogins(page)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private AdminStatsResponse fromDatabase(int pageSize, KeysetCursor position) {
+
+        // Fetch one extra row to know whether another page exists
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<UserLoginView> rows = position == null
+                ? userRepository.findRecentLogins(page)
+                : userRepository.findRecentLoginsBefore(position.timestamp(), position.id(), page);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<UserLoginView> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
 
-        List<User> users = userRepository.findAll();
+        String nextCursor = null;
+        if (hasMore) {
+            UserLoginView last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(last.getLastLogin(), last.getId()).encode();
+        }
 
         return AdminStatsResponse.builder()
-                .totalUsers(users.size())
+                .totalUsers(userStatsEngine.totalUsers())
                 .recentLogins(
-                        users.stream()
-                                .map(user ->
+                        pageRows.stream()
+                                .map(row ->
                                         AdminStatsResponse.UserLoginInfo.builder()
-                                                .userId(user.getId())
-                                                .email(user.getEmail())
-                                                .lastLogin(user.getLastLogin())
+                                                .userId(row.getId())
+                                                .email(row.getEmail())
+                                                .lastLogin(row.getLastLogin())
                                                 .build()
                                 )
                                 .toList()
                 )
+                .nextCursor(nextCursor)
                 .build();
     }
-}
\ No newline at end of file
+}
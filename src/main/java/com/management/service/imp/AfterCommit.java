@@ -0,0 +1,31 @@
+package com.management.service.imp;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers cache evictions until the surrounding transaction has committed.
+ * Evicting earlier lets a concurrent reader load the still-old rows and
+ * cache them again; after a rollback there is nothing to evict at all.
+ * Without an active transaction the eviction runs right away.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,254 @@
+package com.management.service.imp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps audit_logs' monthly partitions (V8) rolling:
+ * splits the empty p_max into the next months ahead of time, and drops
+ * partitions whose whole range is past retention — a metadata operation,
+ * no undo log, no replication lag. Runs at startup and then periodically;
+ * a MySQL named lock keeps concurrent nodes from racing on the DDL.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "audit.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditPartitionMaintainer {
+
+    private static final String LOCK_NAME = "audit_logs_partition_maintenance";
+
+    private static final String MAX_PARTITION = "p_max";
+
+    private static final String PARTITIONS_SQL =
+            "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS " +
+            "FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_logs' " +
+            "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audit-partitions");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    // Months created beyond the current one
+    @Value("${audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    // Whole months kept before the current one; 0 = never drop
+    @Value("${audit.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${audit.partitions.check-interval-hours:6}")
+    private long checkIntervalHours;
+
+    private final AtomicInteger partitionCount = new AtomicInteger();
+    private final Counter createdCounter;
+    private final Counter droppedCounter;
+
+    public AuditPartitionMaintainer(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        Gauge.builder("audit.partitions.count", partitionCount, AtomicInteger::get)
+                .description("Partitions of audit_logs, incl. p_history and p_max")
+                .register(meterRegistry);
+        this.createdCounter = Counter.builder("audit.partitions.created")
+                .description("Monthly audit_logs partitions created ahead of time")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.partitions.dropped")
+                .description("Expired audit_logs partitions dropped")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::maintainSafely,
+                0, checkIntervalHours, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain(LocalDate.now());
+        } catch (Exception ex) {
+            log.error("Audit partition maintenance failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    void maintain(LocalDate today) {
+
+        // Named locks belong to the session, so everything runs on one connection
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+
+            if (!acquireLock(connection)) {
+                log.debug("Audit partition maintenance running on another node, skipping");
+                return null;
+            }
+            try {
+                List<Partition> partitions = readPartitions(connection);
+                if (partitions.isEmpty()) {
+                    log.warn("audit_logs is not partitioned, skipping maintenance");
+                    return null;
+                }
+                partitions = createAhead(connection, partitions, YearMonth.from(today));
+                dropExpired(connection, partitions, YearMonth.from(today));
+                partitionCount.set(readPartitions(connection).size());
+            } finally {
+                releaseLock(connection);
+            }
+            return null;
+        });
+    }
+
+    // Splits p_max so that every month up to today + monthsAhead has its own partition
+    private List<Partition> createAhead(Connection connection, List<Partition> partitions, YearMonth now)
+            throws SQLException {
+
+        Partition max = partitions.get(partitions.size() - 1);
+        if (!MAX_PARTITION.equals(max.name())) {
+            log.warn("audit_logs has no {} partition, cannot add months", MAX_PARTITION);
+            return partitions;
+        }
+
+        // First month not yet covered: the one starting at the highest bound
+        YearMonth next = partitions.size() > 1
+                ? YearMonth.from(partitions.get(partitions.size() - 2).upperBound())
+                : now;
+        YearMonth last = now.plusMonths(monthsAhead);
+
+        if (next.isAfter(last)) {
+            return partitions;
+        }
+        if (max.rows() > 0) {
+            // Split still works, it just has to copy those rows
+            log.warn("{} holds ~{} rows with future timestamps; splitting it will copy them",
+                    MAX_PARTITION, max.rows());
+        }
+
+        StringBuilder ddl = new StringBuilder("ALTER TABLE audit_logs REORGANIZE PARTITION ")
+                .append(MAX_PARTITION).append(" INTO (");
+        int created = 0;
+        for (YearMonth month = next; !month.isAfter(last); month = month.plusMonths(1)) {
+            ddl.append("PARTITION p").append(month.format(PARTITION_SUFFIX))
+                    .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+            created++;
+        }
+        ddl.append("PARTITION ").append(MAX_PARTITION).append(" VALUES LESS THAN (MAXVALUE))");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(ddl.toString());
+        }
+        createdCounter.increment(created);
+        log.info("Audit partitions created → Months: {}..{}", next, last);
+
+        return readPartitions(connection);
+    }
+
+    // A partition is dropped only when its whole range is older than the retention cutoff
+    private void dropExpired(Connection connection, List<Partition> partitions, YearMonth now)
+            throws SQLException {
+
+        if (retentionMonths <= 0) {
+            return;
+        }
+        LocalDate cutoff = now.minusMonths(retentionMonths).atDay(1);
+
+        List<String> expired = new ArrayList<>();
+        for (Partition partition : partitions) {
+            if (partition.upperBound() != null && !partition.upperBound().isAfter(cutoff)) {
+                expired.add(partition.name());
+            }
+        }
+        // Always keep at least one bounded partition below p_max
+        long bounded = partitions.stream().filter(partition -> partition.upperBound() != null).count();
+        if (!expired.isEmpty() && expired.size() >= bounded) {
+            expired.remove(expired.size() - 1);
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE audit_logs DROP PARTITION " + String.join(", ", expired));
+        }
+        droppedCounter.increment(expired.size());
+        log.info("Audit partitions dropped → {} (older than {})", expired, cutoff);
+    }
+
+    private List<Partition> readPartitions(Connection connection) throws SQLException {
+
+        List<Partition> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(PARTITIONS_SQL);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                partitions.add(new Partition(
+                        rs.getString("PARTITION_NAME"),
+                        parseBound(rs.getString("PARTITION_DESCRIPTION")),
+                        rs.getLong("TABLE_ROWS")));
+            }
+        }
+        return partitions;
+    }
+
+    // RANGE COLUMNS bounds come back quoted, e.g. '2026-11-01 00:00:00'; null for MAXVALUE
+    private static LocalDate parseBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        String value = description.replace("'", "").trim();
+        return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+    }
+
+    private static boolean acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.executeQuery().close();
+        }
+    }
+
+    // upperBound = exclusive VALUES LESS THAN date; null for p_max
+    private record Partition(String name, LocalDate upperBound, long rows) {
+    }
+}
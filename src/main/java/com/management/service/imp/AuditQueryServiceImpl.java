@@ -0,0 +1,120 @@
+package com.management.service.imp;
+
+import com.management.dto.response.AuditLogPageResponse;
+import com.management.entity.AuditLog;
+import com.management.exception.InvalidRequestException;
+import com.management.repository.AuditLogRepository;
+import com.management.service.AuditQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Admin audit search, keyset-paginated on (timestamp, id), newest first.
+ * Every page is a bounded index range, so cost does not grow with the table
+ * or with how deep the client pages. An action prefix is resolved to its
+ * distinct actions first; each one is read in index order and the results
+ * are merged, instead of a LIKE range that would need a filesort.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "audit.backend", havingValue = "jdbc", matchIfMissing = true)
+public class AuditQueryServiceImpl implements AuditQueryService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    // One index-ordered query per matching action; a broader prefix is rejected
+    private static final int MAX_FAN_OUT = 32;
+
+    private static final Comparator<AuditLog> NEWEST_FIRST =
+            Comparator.comparing(AuditLog::getTimestamp).reversed()
+                    .thenComparing(AuditLog::getId, Comparator.reverseOrder());
+
+    private final AuditLogRepository auditLogRepository;
+
+    @Override
+    public AuditLogPageResponse search(Long userId, String actionPrefix,
+                                       LocalDateTime from, LocalDateTime to,
+                                       int size, String cursor) {
+
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidRequestException("'from' must be before 'to'");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor position = KeysetCursor.decode(cursor);
+
+        // One extra row tells whether another page exists
+        List<AuditLog> rows = actionPrefix == null || actionPrefix.isBlank()
+                ? page(userId, null, from, to, position, pageSize + 1)
+                : pageForPrefix(userId, actionPrefix, from, to, position, pageSize + 1);
+
+        return toPage(rows, pageSize);
+    }
+
+    // rows = up to pageSize + 1, newest first; shared with the segment backend
+    static AuditLogPageResponse toPage(List<AuditLog> rows, int pageSize) {
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AuditLog> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLog last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(last.getTimestamp(), last.getId()).encode();
+        }
+
+        return AuditLogPageResponse.builder()
+                .entries(pageRows.stream()
+                        .map(row -> AuditLogPageResponse.Entry.builder()
+                                .id(row.getId())
+                                .action(row.getAction())
+                                .userId(row.getUserId())
+                                .timestamp(row.getTimestamp())
+                                .build())
+                        .toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private List<AuditLog> pageForPrefix(Long userId, String prefix,
+                                         LocalDateTime from, LocalDateTime to,
+                                         KeysetCursor position, int limit) {
+
+        List<String> actions = auditLogRepository.findActionsStartingWith(prefix);
+
+        if (actions.isEmpty()) {
+            return List.of();
+        }
+        if (actions.size() > MAX_FAN_OUT) {
+            throw new InvalidRequestException(
+                    "Action prefix matches too many actions (" + actions.size() + "), be more specific");
+        }
+        if (actions.size() == 1) {
+            return page(userId, actions.get(0), from, to, position, limit);
+        }
+
+        // Each list is already newest-first; the top `limit` overall is among their heads
+        List<AuditLog> merged = new ArrayList<>();
+        for (String action : actions) {
+            merged.addAll(page(userId, action, from, to, position, limit));
+        }
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    private List<AuditLog> page(Long userId, String action,
+                                LocalDateTime from, LocalDateTime to,
+                                KeysetCursor position, int limit) {
+
+        return auditLogRepository.findPage(userId, action, from, to,
+                position == null ? null : position.timestamp(),
+                position == null ? null : position.id(),
+                limit);
+    }
+}
@@ -0,0 +1,405 @@
+package com.management.service.imp;
+
+import com.management.entity.AuditLog;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * One append-only segment file of fixed-size audit records, memory-mapped.
+ *
+ * Record layout (RECORD_SIZE bytes, big-endian):
+ *   0  int    CRC32 of bytes 4..RECORD_SIZE
+ *   4  long   sequence (global id; slot i holds firstSequence + i)
+ *  12  long   timestamp, epoch millis
+ *  20  long   userId (Long.MIN_VALUE = none)
+ *  28  short  action length in bytes
+ *  30  bytes  action, UTF-8, at most MAX_ACTION_BYTES
+ *
+ * Sparse index: records are grouped in blocks of BLOCK_RECORDS; per block the
+ * min/max timestamp, per user the set of blocks holding their records. A
+ * lookup only reads the blocks that can match. Sealed segments persist the
+ * index next to the file; the tail segment rebuilds it while recovering.
+ */
+final class AuditSegment {
+
+    static final int RECORD_SIZE = 128;
+    static final int MAX_ACTION_BYTES = RECORD_SIZE - 30;
+    static final int BLOCK_RECORDS = 256;
+
+    private static final long NO_USER = Long.MIN_VALUE;
+    private static final int INDEX_MAGIC = 0x41494458;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final Path file;
+    private final long firstSequence;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+
+    // Slots [0, count) hold complete records; bumped after the index is updated
+    private volatile int count;
+
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private long[] blockMin = new long[16];
+    private long[] blockMax = new long[16];
+    private int blockCount;
+    private final Map<Long, BitSet> blocksByUser = new HashMap<>();
+    private volatile long minTimestamp = Long.MAX_VALUE;
+    private volatile long maxTimestamp = Long.MIN_VALUE;
+
+    // Append-side scratch, only touched under the store's append lock
+    private final byte[] scratch = new byte[RECORD_SIZE];
+    private final CRC32 crc = new CRC32();
+
+    private AuditSegment(Path file, long firstSequence, MappedByteBuffer buffer) {
+        this.file = file;
+        this.firstSequence = firstSequence;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity() / RECORD_SIZE;
+    }
+
+    static AuditSegment create(Path directory, long firstSequence, long sizeBytes) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+        long size = sizeBytes / RECORD_SIZE * RECORD_SIZE;
+        return new AuditSegment(file, firstSequence, map(file, size, true));
+    }
+
+    /**
+     * Sealed segments load their index file (rebuilt from the records if it
+     * is missing or damaged). The tail segment is always scanned: the first
+     * slot that is not a complete record with the expected sequence and CRC
+     * ends the log, so a torn write from a crash is simply cut off, and every
+     * slot after it is zeroed.
+     */
+    static AuditSegment open(Path file, boolean tail) throws IOException {
+        String name = file.getFileName().toString();
+        long firstSequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+
+        AuditSegment segment = new AuditSegment(file, firstSequence, map(file, Files.size(file), tail));
+        if (tail) {
+            segment.recover(true);
+        } else if (!segment.loadIndex()) {
+            segment.recover(false);
+            segment.writeIndex();
+        }
+        return segment;
+    }
+
+    static boolean isSegmentFile(Path path) {
+        return path.getFileName().toString().endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path file, long size, boolean writable) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Audit segment larger than 2 GB: " + file);
+        }
+        Set<StandardOpenOption> options = writable
+                ? EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : EnumSet.of(StandardOpenOption.READ);
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, size);
+        }
+    }
+
+    // ===== WRITE (caller holds the store's append lock) =====
+
+    boolean append(long sequence, long timestamp, Long userId, byte[] action) {
+
+        int slot = count;
+        if (slot == capacity) {
+            return false;
+        }
+
+        Arrays.fill(scratch, (byte) 0);
+        ByteBuffer record = ByteBuffer.wrap(scratch);
+        record.putLong(4, sequence)
+                .putLong(12, timestamp)
+                .putLong(20, userId == null ? NO_USER : userId)
+                .putShort(28, (short) action.length)
+                .put(30, action);
+        crc.reset();
+        crc.update(scratch, 4, RECORD_SIZE - 4);
+        record.putInt(0, (int) crc.getValue());
+
+        // One copy into the mapping; a crash mid-copy fails the CRC on recovery
+        buffer.put(slot * RECORD_SIZE, scratch);
+
+        indexRecord(slot, timestamp, userId);
+        count = slot + 1;
+        return true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    // Full segment: flush the pages, then persist the index for the next startup
+    void seal() throws IOException {
+        buffer.force();
+        writeIndex();
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(indexFile());
+        Files.deleteIfExists(file);
+    }
+
+    // ===== READ =====
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long sizeBytes() {
+        return buffer.capacity();
+    }
+
+    long minTimestamp() {
+        return minTimestamp;
+    }
+
+    long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    /**
+     * Blocks that may hold records of this user (null = any) with a
+     * timestamp in [from, to), in ascending order.
+     */
+    int[] candidateBlocks(Long userId, long from, long to) {
+
+        indexLock.readLock().lock();
+        try {
+            BitSet userBlocks = null;
+            if (userId != null) {
+                userBlocks = blocksByUser.get(userId);
+                if (userBlocks == null) {
+                    return new int[0];
+                }
+            }
+
+            int[] blocks = new int[blockCount];
+            int found = 0;
+            for (int block = 0; block < blockCount; block++) {
+                if (blockMax[block] >= from && blockMin[block] < to
+                        && (userBlocks == null || userBlocks.get(block))) {
+                    blocks[found++] = block;
+                }
+            }
+            return Arrays.copyOf(blocks, found);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    AuditLog read(int slot) {
+
+        int position = slot * RECORD_SIZE;
+        long userId = buffer.getLong(position + 20);
+        byte[] action = new byte[buffer.getShort(position + 28)];
+        buffer.get(position + 30, action);
+
+        return AuditLog.builder()
+                .id(buffer.getLong(position + 4))
+                .timestamp(LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(buffer.getLong(position + 12)), ZoneId.systemDefault()))
+                .userId(userId == NO_USER ? null : userId)
+                .action(new String(action, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    // ===== INDEX / RECOVERY =====
+
+    private void indexRecord(int slot, long timestamp, Long userId) {
+
+        indexLock.writeLock().lock();
+        try {
+            int block = slot / BLOCK_RECORDS;
+            if (block >= blockMin.length) {
+                blockMin = Arrays.copyOf(blockMin, blockMin.length * 2);
+                blockMax = Arrays.copyOf(blockMax, blockMax.length * 2);
+            }
+            if (block == blockCount) {
+                blockMin[block] = timestamp;
+                blockMax[block] = timestamp;
+                blockCount++;
+            } else {
+                blockMin[block] = Math.min(blockMin[block], timestamp);
+                blockMax[block] = Math.max(blockMax[block], timestamp);
+            }
+            if (userId != null) {
+                blocksByUser.computeIfAbsent(userId, id -> new BitSet()).set(block);
+            }
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    private void recover(boolean tail) {
+
+        CRC32 check = new CRC32();
+        int slot = 0;
+        while (slot < capacity && isComplete(slot, check)) {
+            long userId = buffer.getLong(slot * RECORD_SIZE + 20);
+            indexRecord(slot, buffer.getLong(slot * RECORD_SIZE + 12), userId == NO_USER ? null : userId);
+            slot++;
+        }
+        count = slot;
+
+        if (tail) {
+            // Wipe every slot past the end, not just up to the first empty one: a record
+            // beyond a gap (an unflushed page before the crash) still has the sequence its
+            // slot expects and would come back as valid once appends fill the gap
+            byte[] empty = new byte[RECORD_SIZE];
+            boolean wiped = false;
+            for (int next = slot; next < capacity; next++) {
+                if (!isEmpty(next)) {
+                    buffer.put(next * RECORD_SIZE, empty);
+                    wiped = true;
+                }
+            }
+            if (wiped) {
+                buffer.force();
+            }
+        }
+    }
+
+    // Reads only: untouched pages of the sparse file stay unallocated
+    private boolean isEmpty(int slot) {
+        int position = slot * RECORD_SIZE;
+        for (int offset = 0; offset < RECORD_SIZE; offset += Long.BYTES) {
+            if (buffer.getLong(position + offset) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isComplete(int slot, CRC32 check) {
+        int position = slot * RECORD_SIZE;
+        if (buffer.getLong(position + 4) != firstSequence + slot) {
+            return false;
+        }
+        check.reset();
+        check.update(buffer.slice(position + 4, RECORD_SIZE - 4));
+        return (int) check.getValue() == buffer.getInt(position);
+    }
+
+    private Path indexFile() {
+        String name = file.getFileName().toString();
+        return file.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private void writeIndex() throws IOException {
+
+        Path target = indexFile();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        indexLock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(count);
+            out.writeInt(blockCount);
+            for (int block = 0; block < blockCount; block++) {
+                out.writeLong(blockMin[block]);
+                out.writeLong(blockMax[block]);
+            }
+            out.writeInt(blocksByUser.size());
+            for (Map.Entry<Long, BitSet> entry : blocksByUser.entrySet()) {
+                long[] words = entry.getValue().toLongArray();
+                out.writeLong(entry.getKey());
+                out.writeInt(words.length);
+                for (long word : words) {
+                    out.writeLong(word);
+                }
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // false = missing, damaged or not matching the records: caller rebuilds it
+    private boolean loadIndex() {
+
+        Path source = indexFile();
+        if (!Files.exists(source)) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(source)))) {
+
+            if (in.readInt() != INDEX_MAGIC) {
+                return false;
+            }
+            int records = in.readInt();
+            int blocks = in.readInt();
+            if (records < 0 || records > capacity
+                    || blocks != (records + BLOCK_RECORDS - 1) / BLOCK_RECORDS) {
+                return false;
+            }
+
+            long[] mins = new long[Math.max(16, blocks)];
+            long[] maxs = new long[mins.length];
+            for (int block = 0; block < blocks; block++) {
+                mins[block] = in.readLong();
+                maxs[block] = in.readLong();
+            }
+            Map<Long, BitSet> users = new HashMap<>();
+            int userCount = in.readInt();
+            for (int i = 0; i < userCount; i++) {
+                long userId = in.readLong();
+                long[] words = new long[in.readInt()];
+                for (int w = 0; w < words.length; w++) {
+                    words[w] = in.readLong();
+                }
+                users.put(userId, BitSet.valueOf(words));
+            }
+
+            // The last indexed record must be intact and nothing may follow it
+            CRC32 check = new CRC32();
+            if ((records > 0 && !isComplete(records - 1, check))
+                    || (records < capacity && isComplete(records, check))) {
+                return false;
+            }
+
+            blockMin = mins;
+            blockMax = maxs;
+            blockCount = blocks;
+            blocksByUser.putAll(users);
+            for (int block = 0; block < blocks; block++) {
+                minTimestamp = Math.min(minTimestamp, mins[block]);
+                maxTimestamp = Math.max(maxTimestamp, maxs[block]);
+            }
+            count = records;
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+}
@@ -1,27 +1,294 @@
 package com.management.service.imp;
 
-import com.management.entity.AuditLog;
-import com.management.repository.AuditLogRepository;
 import com.management.service.AuditService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Asynchronous audit writer.
+ * log() only enqueues into a bounded in-memory buffer; a background thread
+ * drains it and writes multi-row INSERTs through JDBC batching (IDENTITY
+ * keys mean Hibernate could never batch these). What happens when the
+ * buffer is full is configurable, and the buffer is drained on shutdown.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
+@ConditionalOnProperty(name = "audit.backend", havingValue = "jdbc", matchIfMissing = true)
 public class AuditServiceImpl implements AuditService {
 
-    private final AuditLogRepository auditLogRepository;
+    public enum OverflowPolicy {
+        BLOCK,          // caller waits for space — nothing lost, latency leaks back
+        DROP_OLDEST,    // evict the oldest buffered entry — bounded latency, lossy
+        SPILL           // append to a local file, replayed by the writer later
+    }
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (action, user_id, timestamp) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${audit.writer.capacity:10000}")
+    private int capacity;
+
+    @Value("${audit.writer.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${audit.writer.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${audit.writer.overflow-policy:BLOCK}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${audit.writer.spill-file:audit-spill.log}")
+    private String spillFilePath;
+
+    private Path spillFile;
+
+    private BlockingQueue<AuditEntry> buffer;
+    private Thread writer;
+    private volatile boolean running;
+
+    // Not synchronized: file IO under a monitor would pin a virtual thread to its carrier
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    private Counter droppedCounter;
+    private Counter spilledCounter;
+    private Counter writtenCounter;
+
+    public AuditServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        buffer = new ArrayBlockingQueue<>(capacity);
+        spillFile = Path.of(spillFilePath);
+
+        Gauge.builder("audit.writer.queue.depth", buffer, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("audit.writer.dropped")
+                .description("Audit entries evicted by DROP_OLDEST")
+                .register(meterRegistry);
+        spilledCounter = Counter.builder("audit.writer.spilled")
+                .description("Audit entries spilled to the overflow file")
+                .register(meterRegistry);
+        writtenCounter = Counter.builder("audit.writer.written")
+                .description("Audit entries inserted into audit_logs")
+                .register(meterRegistry);
+
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
 
     @Override
     public void log(String action, Long userId) {
-        AuditLog log = AuditLog.builder()
-                .action(action)
-                .userId(userId)
-                .timestamp(LocalDateTime.now())
-                .build();
 
-        auditLogRepository.save(log);
+        AuditEntry entry = new AuditEntry(action, userId, LocalDateTime.now());
+
+        if (buffer.offer(entry)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    buffer.put(entry);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    spill(entry);
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!buffer.offer(entry)) {
+                    if (buffer.poll() != null) {
+                        droppedCounter.increment();
+                    }
+                }
+            }
+            case SPILL -> spill(entry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Guaranteed drain: whatever is left goes out on the caller thread
+        List<AuditEntry> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += maxBatch) {
+            write(remaining.subList(from, Math.min(from + maxBatch, remaining.size())));
+        }
+        replaySpill();
+    }
+
+    private void runWriter() {
+
+        List<AuditEntry> batch = new ArrayList<>(maxBatch);
+
+        while (running) {
+            try {
+                AuditEntry first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, maxBatch - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                // shutdown() does the final drain
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                log.error("Audit batch of {} failed, spilling: {}", batch.size(), ex.getMessage());
+                batch.forEach(this::spill);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditEntry> entries) {
+
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (AuditEntry entry : entries) {
+            rows.add(new Object[]{
+                    entry.action(),
+                    entry.userId(),
+                    Timestamp.valueOf(entry.timestamp())
+            });
+        }
+
+        // rewriteBatchedStatements=true turns this into multi-row INSERTs; one
+        // transaction so a failed batch leaves nothing behind to be spilled twice
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+        writtenCounter.increment(entries.size());
+    }
+
+    // ===== SPILL FILE (one "epochMillis|userId|action" line per entry) =====
+
+    private void spill(AuditEntry entry) {
+
+        String line = Timestamp.valueOf(entry.timestamp()).getTime()
+                + "|" + (entry.userId() == null ? "" : entry.userId())
+                + "|" + entry.action()
+                + System.lineSeparator();
+
+        spillLock.lock();
+        try {
+            Files.writeString(spillFile, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            spilledCounter.increment();
+        } catch (IOException ex) {
+            log.error("Audit spill failed, entry lost → Action: {}, User: {}",
+                    entry.action(), entry.userId());
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    private void replaySpill() {
+
+        Path replaying = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+
+        spillLock.lock();
+        try {
+            if (!Files.exists(replaying)) {
+                if (!Files.exists(spillFile) || Files.size(spillFile) == 0) {
+                    return;
+                }
+                Files.move(spillFile, replaying, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException ex) {
+            log.warn("Audit spill replay skipped: {}", ex.getMessage());
+            return;
+        } finally {
+            spillLock.unlock();
+        }
+
+        try {
+            List<String> lines = new ArrayList<>();
+            List<AuditEntry> entries = new ArrayList<>();
+            for (String line : Files.readAllLines(replaying, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\\|", 3);
+                if (parts.length < 3) {
+                    continue;
+                }
+                lines.add(line);
+                entries.add(new AuditEntry(
+                        parts[2],
+                        parts[1].isEmpty() ? null : Long.valueOf(parts[1]),
+                        new Timestamp(Long.parseLong(parts[0])).toLocalDateTime()
+                ));
+            }
+            for (int from = 0; from < entries.size(); from += maxBatch) {
+                int to = Math.min(from + maxBatch, entries.size());
+                write(entries.subList(from, to));
+                // Committed chunks leave the file at once, so a later failure
+                // never inserts them a second time
+                truncateReplayed(replaying, lines.subList(to, lines.size()));
+            }
+            Files.deleteIfExists(replaying);
+        } catch (Exception ex) {
+            // What is left in the file is retried on the next idle cycle
+            log.warn("Audit spill replay failed: {}", ex.getMessage());
+        }
+    }
+
+    // Rewrites the replay file with the lines not inserted yet (temp file + atomic move)
+    private void truncateReplayed(Path replaying, List<String> remaining) throws IOException {
+        if (remaining.isEmpty()) {
+            Files.deleteIfExists(replaying);
+            return;
+        }
+        Path temp = replaying.resolveSibling(replaying.getFileName() + ".tmp");
+        Files.write(temp, remaining, StandardCharsets.UTF_8);
+        Files.move(temp, replaying, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private record AuditEntry(String action, Long userId, LocalDateTime timestamp) {
     }
 }
@@ -16,11 +16,14 @@ import com.management.repository.UserRepository;
 import com.management.config.JwtService;
 import com.management.service.AuthService;
 import com.management.service.AuditService;
+import com.management.service.EmailAvailabilityService;
 import com.management.service.EventPublisherService;
+import com.management.service.UserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.*;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -32,18 +35,25 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserMapper userMapper;
     private final EventPublisherService eventPublisherService;
     private final AuditService auditService;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final LoginThrottle loginThrottle;
+    private final EmailAvailabilityService emailAvailabilityService;
+
+    // Encoded once, lazily — compared against on unknown emails
+    private volatile String dummyHash;
 
     //Register user
 
     @Override
     public RegisterResponse register(RegisterRequest request) {
 
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // Bloom filter first; the DB is only asked when the email might be taken
+        if (!emailAvailabilityService.isAvailable(request.getEmail())) {
             throw new EmailAlreadyExistsException("Email already registered");
         }
 
@@ -58,20 +68,35 @@ public class AuthServiceImpl implements AuthService {
                 Set.of(userRole)
         );
 
-        User savedUser = userRepository.save(user);
+        // users row + outbox event commit together. Hashing ran above,
+        // outside the transaction, so no connection is held during BCrypt.
+        User savedUser;
+        try {
+            savedUser = transactionTemplate.execute(status -> {
 
-        //  Audit Log for Registration
-        auditService.log("REGISTERED", savedUser.getId());
+                User saved = userRepository.save(user);
 
-        // Publish REGISTER event to Kafka
-        UserEvent event = UserEvent.builder()
-                .userId(savedUser.getId())
-                .email(savedUser.getEmail())
-                .eventType("REGISTERED")
-                .timestamp(LocalDateTime.now())
-                .build();
+                //  Audit Log for Registration
+                auditService.log("REGISTERED", saved.getId());
 
-        eventPublisherService.publish(event);
+                // Publish REGISTER event (outbox row in this transaction)
+                UserEvent event = UserEvent.builder()
+                        .userId(saved.getId())
+                        .email(saved.getEmail())
+                        .eventType("REGISTERED")
+                        .timestamp(LocalDateTime.now())
+                        .build();
+
+                eventPublisherService.publish(event);
+
+                return saved;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Registered concurrently (or on another node before its event reached us)
+            throw new EmailAlreadyExistsException("Email already registered");
+        }
+
+        emailAvailabilityService.markTaken(savedUser.getEmail());
 
         return RegisterResponse.builder()
                 .id(savedUser.getId())
@@ -84,27 +109,34 @@ public class AuthServiceImpl implements AuthService {
     //Login user
 
     @Override
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
+
+        // Throttled emails / IPs are turned away before any DB or BCrypt work.
+        // The attempt is counted now, so parallel guesses can't all get through.
+        LoginThrottle.Attempt attempt = loginThrottle.checkAllowed(request.getEmail(), clientIp);
 
+        User user;
         try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            request.getPassword()
-                    )
-            );
-        } catch (BadCredentialsException ex) {
-            throw new InvalidCredentialsException("Invalid email or password");
+            user = verifyCredentials(request);
+        } catch (InvalidCredentialsException ex) {
+            // Wrong guess: the attempt stays counted
+            throw ex;
+        } catch (RuntimeException ex) {
+            // Our failure (e.g. hashing queue full), not the client's
+            attempt.refund();
+            throw ex;
         }
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new InvalidCredentialsException("Invalid email or password"));
+        attempt.succeeded();
 
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Legacy or lower-cost hash — re-hash with the current encoder
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            userRepository.updatePassword(user.getId(),
+                    passwordEncoder.encode(request.getPassword()));
+        }
 
-        //  Audit Log for Login
-        auditService.log("LOGIN", user.getId());
+        //  lastLogin + Audit Log for Login (single transaction)
+        userService.recordLogin(user.getId());
 
         // Publish LOGIN event to Kafka
         UserEvent event = UserEvent.builder()
@@ -120,4 +152,31 @@ public class AuthServiceImpl implements AuthService {
 
         return new AuthResponse(token);
     }
+
+    private User verifyCredentials(LoginRequest request) {
+
+        // One joined select for user + roles; reused for the password check and the token
+        User user = userRepository.findWithRolesByEmail(request.getEmail())
+                .orElse(null);
+
+        if (user == null) {
+            // Same BCrypt cost as a real check so unknown emails can't be timed
+            passwordEncoder.matches(request.getPassword(), dummyHash());
+            throw new InvalidCredentialsException("Invalid email or password");
+        }
+
+        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            throw new InvalidCredentialsException("Invalid email or password");
+        }
+        return user;
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("timing-attack-protection");
+            dummyHash = hash;
+        }
+        return hash;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.management.service.imp;
+
+import com.management.exception.InvalidRequestException;
+import com.management.repository.UserRepository;
+import com.management.service.EmailAvailabilityService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bloom filter first: a miss answers without touching the database (the
+ * unique index still rejects a signup this node has not heard of yet).
+ * Possible hits fall back to the unique email index.
+ */
+@Service
+public class EmailAvailabilityServiceImpl implements EmailAvailabilityService {
+
+    private final EmailBloomFilter emailBloomFilter;
+    private final UserRepository userRepository;
+
+    private final Counter filterMiss;
+    private final Counter confirmedTaken;
+    private final Counter falsePositive;
+
+    public EmailAvailabilityServiceImpl(EmailBloomFilter emailBloomFilter,
+                                        UserRepository userRepository,
+                                        MeterRegistry meterRegistry) {
+        this.emailBloomFilter = emailBloomFilter;
+        this.userRepository = userRepository;
+
+        this.filterMiss = Counter.builder("users.email_filter.checks")
+                .tag("result", "absent").register(meterRegistry);
+        this.confirmedTaken = Counter.builder("users.email_filter.checks")
+                .tag("result", "taken").register(meterRegistry);
+        this.falsePositive = Counter.builder("users.email_filter.checks")
+                .tag("result", "false_positive").register(meterRegistry);
+    }
+
+    @Override
+    public boolean isAvailable(String email) {
+
+        if (email == null || email.isBlank() || !email.contains("@")) {
+            throw new InvalidRequestException("Invalid email");
+        }
+
+        if (!emailBloomFilter.mightContain(email)) {
+            filterMiss.increment();
+            return true;
+        }
+
+        if (userRepository.existsByEmail(email)) {
+            confirmedTaken.increment();
+            return false;
+        }
+
+        falsePositive.increment();
+        return true;
+    }
+
+    @Override
+    public void markTaken(String email) {
+        emailBloomFilter.put(email);
+    }
+}
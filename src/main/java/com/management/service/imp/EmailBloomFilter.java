@@ -0,0 +1,268 @@
+package com.management.service.imp;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of registered emails. "Present" only means possibly taken and
+ * must be confirmed against the database. "Absent" means not taken as far as
+ * this node knows: an insert is seen once its REGISTERED event arrives, so a
+ * signup elsewhere may still be in flight and the unique index stays the
+ * final check.
+ * Built at startup from a streaming scan of users, then fed on every insert
+ * (locally, and cluster-wide from REGISTERED events). Users committed between
+ * the scan and the event listener getting its partitions are picked up by
+ * {@link #catchUp()}. Bits are set with CAS, so reads and writes never lock.
+ * Once more emails are added than the filter was sized for, it is rebuilt in
+ * the background at twice the size.
+ */
+@Slf4j
+@Component
+public class EmailBloomFilter {
+
+    private static final String SCAN_SQL = "SELECT id, email FROM users";
+
+    private static final String CATCH_UP_SQL = "SELECT id, email FROM users WHERE id > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${users.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Lower bound; the filter is always sized for at least twice the current user count
+    @Value("${users.email-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    private volatile Bits bits;
+
+    // Non-null while a rebuild scan runs; inserts go to both filters meanwhile
+    private volatile Bits building;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Highest user id read so far; catchUp() scans past it
+    private final AtomicLong scannedUpTo = new AtomicLong();
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "email-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmailBloomFilter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        bits = build(Math.max(expectedInsertions, 2 * (count == null ? 0 : count)));
+        building = null;
+
+        Gauge.builder("users.email_filter.bytes", this, filter -> filter.bits.memoryBytes())
+                .description("Heap used by the email Bloom filter bit array")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("users.email_filter.insertions", this, filter -> filter.bits.insertions.get())
+                .description("Emails added to the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("users.email_filter.expected_fpp", this, filter -> filter.bits.expectedFpp())
+                .description("False-positive probability at the current fill")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    public boolean mightContain(String email) {
+        return email != null && bits.mightContain(normalize(email));
+    }
+
+    public void put(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = normalize(email);
+
+        // building before bits: a swap publishes bits before clearing building,
+        // so one of the two reads is always the new filter
+        Bits next = building;
+        Bits current = bits;
+        current.put(key);
+        if (next != null && next != current) {
+            next.put(key);
+        }
+
+        if (current.insertions.get() > current.capacity && rebuilding.compareAndSet(false, true)) {
+            rebuilder.execute(() -> rebuild(2 * current.capacity));
+        }
+    }
+
+    public long memoryBytes() {
+        return bits.memoryBytes();
+    }
+
+    /**
+     * Adds users inserted after the last scan, on the background thread.
+     * Called when the REGISTERED event listener is assigned its partitions:
+     * from then on every insert arrives as an event, and ids above the last
+     * scanned one committed before that are read here (a primary key range).
+     */
+    public void catchUp() {
+        rebuilder.execute(() -> {
+            long from = scannedUpTo.get();
+            try {
+                AtomicLong added = new AtomicLong();
+                jdbcTemplate.query(CATCH_UP_SQL, (RowCallbackHandler) rs -> {
+                    put(rs.getString(2));
+                    scannedUpTo.accumulateAndGet(rs.getLong(1), Math::max);
+                    added.incrementAndGet();
+                }, from);
+                log.info("Email filter caught up → From id: {}, Emails: {}", from, added.get());
+            } catch (Exception ex) {
+                log.warn("Email filter catch-up failed, newer emails wait for their events: {}", ex.getMessage());
+            }
+        });
+    }
+
+    private void rebuild(long capacity) {
+        try {
+            bits = build(capacity);
+        } catch (Exception ex) {
+            log.warn("Email filter rebuild failed, keeping the current one: {}", ex.getMessage());
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    // Caller publishes the result to bits first, then clears building
+    private Bits build(long capacity) {
+
+        long started = System.currentTimeMillis();
+        Bits fresh = new Bits(capacity, falsePositiveRate);
+
+        // Published before the scan so inserts committed during it are not missed
+        building = fresh;
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SCAN_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL streaming result set: emails are read one by one instead of buffered whole
+            statement.setFetchSize(Integer.MIN_VALUE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            fresh.put(normalize(rs.getString(2)));
+            scannedUpTo.accumulateAndGet(rs.getLong(1), Math::max);
+        });
+
+        log.info("Email filter built → Emails: {}, Capacity: {}, Hashes: {}, Memory: {} KB, Took: {} ms",
+                fresh.insertions.get(), capacity, fresh.hashes,
+                fresh.memoryBytes() / 1024, System.currentTimeMillis() - started);
+        return fresh;
+    }
+
+    // MySQL compares emails case-insensitively
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Bits {
+
+        private final long capacity;
+        private final long bitCount;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong insertions = new AtomicLong();
+
+        Bits(long capacity, double falsePositiveRate) {
+            this.capacity = Math.max(1, capacity);
+            // m = -n ln p / (ln 2)^2, k = m/n ln 2
+            long optimalBits = (long) Math.ceil(
+                    -this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) bitCount / this.capacity * Math.log(2)));
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            long h1 = mix(hash);
+            long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(String key) {
+            long hash = hash(key);
+            long h1 = mix(hash);
+            long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            boolean changed = false;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                long previous = words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+                changed |= (previous & mask) == 0;
+            }
+            // Re-adding a known email sets no new bit, so this approximates distinct emails
+            if (changed) {
+                insertions.incrementAndGet();
+            }
+        }
+
+        long memoryBytes() {
+            return (long) words.length() * Long.BYTES;
+        }
+
+        double expectedFpp() {
+            return Math.pow(1 - Math.exp(-(double) hashes * insertions.get() / bitCount), hashes);
+        }
+
+        // 64-bit FNV-1a over the UTF-8 bytes
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        // MurmurHash3 finalizer: spreads FNV's weak low bits over the whole word
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
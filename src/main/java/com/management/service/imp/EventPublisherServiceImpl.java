@@ -4,24 +4,28 @@ import com.management.dto.event.UserEvent;
 import com.management.service.EventPublisherService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+// Direct-to-Kafka publishing; only used when the outbox is switched off
+@ConditionalOnProperty(name = "events.outbox.enabled", havingValue = "false")
 public class EventPublisherServiceImpl implements EventPublisherService {
 
     private final KafkaTemplate<String, UserEvent> kafkaTemplate;
 
-    private static final String TOPIC = "user-events";
+    public static final String TOPIC = "user-events";
 
     @Override
     public void publish(UserEvent event) {
 
+        // Delivery result is recorded asynchronously by KafkaDeliveryMetrics
         kafkaTemplate.send(TOPIC, event.getEmail(), event);
 
-        log.info(" Published Kafka Event → Type: {}, Email: {}",
+        log.debug(" Published Kafka Event → Type: {}, Email: {}",
                 event.getEventType(),
                 event.getEmail());
     }
@@ -0,0 +1,144 @@
+package com.management.service.imp;
+
+import com.management.config.TokenVersionRegistry;
+import com.management.dto.event.CacheInvalidationEvent;
+import com.management.service.CacheInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cluster-wide cache eviction. Once the caller's transaction has committed,
+ * the caller's node evicts and publishes the keys on a dedicated topic that
+ * every node reads with its own (stable, per-instance) consumer group, so
+ * each node evicts them too. User evictions also carry the user ids, so
+ * every node drops its Hibernate L2 User / User.roles entries before the
+ * profile (otherwise a remote node would rebuild the profile from stale
+ * entities) and its cached token versions, so stateless tokens issued
+ * before a role change stop matching there too. If the send fails the
+ * entries simply live until their TTL.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "cache.invalidation.mode", havingValue = "kafka", matchIfMissing = true)
+public class KafkaCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheManager cacheManager;
+    private final UserRolesCacheEvictor userRolesCacheEvictor;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final KafkaTemplate<String, CacheInvalidationEvent> kafkaTemplate;
+
+    private final Counter publishFailures;
+    private final Counter received;
+
+    @Value("${cache.invalidation.topic:cache-invalidation}")
+    private String topic;
+
+    public KafkaCacheInvalidationBus(CacheManager cacheManager,
+                                     UserRolesCacheEvictor userRolesCacheEvictor,
+                                     TokenVersionRegistry tokenVersionRegistry,
+                                     KafkaTemplate<String, CacheInvalidationEvent> kafkaTemplate,
+                                     MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.userRolesCacheEvictor = userRolesCacheEvictor;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.kafkaTemplate = kafkaTemplate;
+        this.publishFailures = Counter.builder("cache.invalidation.publish.failures")
+                .description("Invalidations that could not be published (other nodes rely on TTL)")
+                .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.received")
+                .description("Invalidation messages applied from other nodes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void evictAll(String cacheName, Collection<String> keys) {
+
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<String> copy = List.copyOf(keys);
+        AfterCommit.run(() -> {
+            LocalCacheInvalidationBus.evictLocally(cacheManager, cacheName, copy);
+            publish(cacheName, copy, null);
+        });
+    }
+
+    @Override
+    public void evictUsers(Collection<Long> userIds, Collection<String> emails) {
+
+        if (userIds.isEmpty() && emails.isEmpty()) {
+            return;
+        }
+
+        // L2 first (also after commit), so the profile is not rebuilt from stale entities
+        userRolesCacheEvictor.evictAll(userIds);
+
+        List<Long> ids = List.copyOf(userIds);
+        List<String> keys = List.copyOf(emails);
+        AfterCommit.run(() -> {
+            tokenVersionRegistry.evict(ids);
+            LocalCacheInvalidationBus.evictLocally(cacheManager, CURRENT_USER, keys);
+            publish(CURRENT_USER, keys, ids);
+        });
+    }
+
+    private void publish(String cacheName, List<String> keys, List<Long> userIds) {
+
+        CacheInvalidationEvent event = CacheInvalidationEvent.builder()
+                .cacheName(cacheName)
+                .keys(keys)
+                .userIds(userIds)
+                .origin(nodeId)
+                .build();
+
+        try {
+            kafkaTemplate.send(topic, cacheName, event)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            publishFailures.increment();
+                            log.warn("Cache invalidation not published → Cache: {}, Keys: {}, Error: {}",
+                                    cacheName, keys.size(), ex.getMessage());
+                        }
+                    });
+        } catch (RuntimeException ex) {
+            publishFailures.increment();
+            log.warn("Cache invalidation not published → Cache: {}, Keys: {}, Error: {}",
+                    cacheName, keys.size(), ex.getMessage());
+        }
+    }
+
+    // Per-instance group: every node sees every message; a new instance starts from "latest"
+    @KafkaListener(
+            topics = "${cache.invalidation.topic:cache-invalidation}",
+            groupId = "cache-invalidation-${events.instance-id}",
+            containerFactory = "cacheInvalidationListenerFactory",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onInvalidation(CacheInvalidationEvent event) {
+
+        if (event == null || event.getKeys() == null || nodeId.equals(event.getOrigin())) {
+            return;
+        }
+        // No transaction on the listener thread: both run right away, L2 first
+        if (event.getUserIds() != null) {
+            userRolesCacheEvictor.evictAll(event.getUserIds());
+            tokenVersionRegistry.evict(event.getUserIds());
+        }
+        LocalCacheInvalidationBus.evictLocally(cacheManager, event.getCacheName(), event.getKeys());
+        received.increment();
+    }
+}
@@ -0,0 +1,36 @@
+package com.management.service.imp;
+
+import com.management.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a (timestamp DESC, id DESC) keyset page.
+ * Opaque to clients: base64url("timestamp-ISO|id").
+ */
+record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null / blank = first page
+    static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.management.service.imp;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer for users.last_login.
+ * Keeps only the latest timestamp per user id and writes them with one
+ * JDBC batch every flush interval, or sooner once max-batch users are
+ * pending. Repeated logins of the same user collapse into a single UPDATE.
+ * Remaining entries are drained on shutdown.
+ */
+@Slf4j
+@Component
+public class LastLoginWriteBehind {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    // Single thread: flushes never overlap
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "last-login-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    @Value("${users.last-login.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${users.last-login.max-batch:500}")
+    private int maxBatch;
+
+    private volatile long lastFlushMillis = System.currentTimeMillis();
+
+    private Timer flushTimer;
+
+    public LastLoginWriteBehind(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("users.last_login.pending", pending, Map::size)
+                .description("Users with an un-flushed lastLogin")
+                .register(meterRegistry);
+
+        Gauge.builder("users.last_login.flush.lag", this, LastLoginWriteBehind::flushLagMillis)
+                .description("Milliseconds since the last flush while updates are pending")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        flushTimer = Timer.builder("users.last_login.flush")
+                .description("lastLogin batch flush duration")
+                .register(meterRegistry);
+
+        scheduler.scheduleWithFixedDelay(this::flushSafely,
+                flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void record(Long userId, LocalDateTime lastLogin) {
+
+        pending.merge(userId, lastLogin,
+                (current, next) -> next.isAfter(current) ? next : current);
+
+        if (pending.size() >= maxBatch
+                && !scheduler.isShutdown()
+                && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushSafely);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // Final drain on the caller thread
+        flush();
+    }
+
+    private void flushSafely() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.error("lastLogin flush failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    int flush() {
+
+        List<Object[]> batch = new ArrayList<>();
+        List<Map.Entry<Long, LocalDateTime>> taken = new ArrayList<>();
+
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            Long userId = entry.getKey();
+            LocalDateTime lastLogin = entry.getValue();
+
+            // Only take the exact value we saw; a newer one stays for the next flush
+            if (pending.remove(userId, lastLogin)) {
+                batch.add(new Object[]{Timestamp.valueOf(lastLogin), userId});
+                taken.add(Map.entry(userId, lastLogin));
+            }
+        }
+
+        if (batch.isEmpty()) {
+            lastFlushMillis = System.currentTimeMillis();
+            return 0;
+        }
+
+        try {
+            flushTimer.record(() -> {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            });
+        } catch (RuntimeException ex) {
+            // Put them back (keeping any newer timestamp) so nothing is lost
+            taken.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(),
+                    (current, old) -> current.isAfter(old) ? current : old));
+            throw ex;
+        }
+
+        lastFlushMillis = System.currentTimeMillis();
+        return batch.size();
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private double flushLagMillis() {
+        return pending.isEmpty() ? 0 : System.currentTimeMillis() - lastFlushMillis;
+    }
+}
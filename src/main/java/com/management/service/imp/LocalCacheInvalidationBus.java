@@ -0,0 +1,51 @@
+package com.management.service.imp;
+
+import com.management.config.TokenVersionRegistry;
+import com.management.service.CacheInvalidationBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+// In-JVM only (single node, tests); the Kafka bus is the default
+@ConditionalOnProperty(name = "cache.invalidation.mode", havingValue = "local")
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final CacheManager cacheManager;
+    private final UserRolesCacheEvictor userRolesCacheEvictor;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    @Override
+    public void evictAll(String cacheName, Collection<String> keys) {
+        List<String> copy = List.copyOf(keys);
+        AfterCommit.run(() -> evictLocally(cacheManager, cacheName, copy));
+    }
+
+    @Override
+    public void evictUsers(Collection<Long> userIds, Collection<String> emails) {
+        // L2 first, so a profile rebuilt in between is not loaded from stale entities
+        userRolesCacheEvictor.evictAll(userIds);
+        List<Long> ids = List.copyOf(userIds);
+        List<String> keys = List.copyOf(emails);
+        AfterCommit.run(() -> {
+            tokenVersionRegistry.evict(ids);
+            evictLocally(cacheManager, CURRENT_USER, keys);
+        });
+    }
+
+    static void evictLocally(CacheManager cacheManager, String cacheName, Collection<String> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        for (String key : keys) {
+            cache.evict(key);
+        }
+    }
+}
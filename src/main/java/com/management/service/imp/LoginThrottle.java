@@ -0,0 +1,240 @@
+package com.management.service.imp;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.management.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Failed-login throttle, checked before any password hashing.
+ * Sliding-window attempt counts per email and per client IP; each window is
+ * one packed AtomicLong updated by CAS. An attempt is counted when it is
+ * let through (check and count in one CAS), so concurrent guesses cannot
+ * all pass before the first failure lands; a successful login gives its
+ * attempt back. Windows live in bounded Caffeine maps
+ * (lock-striped, size-capped, idle entries expire after two windows), so a
+ * flood of distinct emails or IPs cannot grow memory.
+ */
+@Component
+public class LoginThrottle {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.login.throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.login.throttle.email.max-failures:10}")
+    private int emailMaxFailures;
+
+    @Value("${security.login.throttle.email.window-seconds:900}")
+    private long emailWindowSeconds;
+
+    @Value("${security.login.throttle.ip.max-failures:50}")
+    private int ipMaxFailures;
+
+    @Value("${security.login.throttle.ip.window-seconds:60}")
+    private long ipWindowSeconds;
+
+    // Per dimension
+    @Value("${security.login.throttle.max-keys:100000}")
+    private long maxKeys;
+
+    private Limiter byEmail;
+    private Limiter byIp;
+
+    public LoginThrottle(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        byEmail = new Limiter("email", emailMaxFailures, emailWindowSeconds);
+        byIp = new Limiter("ip", ipMaxFailures, ipWindowSeconds);
+    }
+
+    /**
+     * Throws TooManyRequestsException when either the email or the IP is
+     * over its budget; otherwise counts this attempt against both and
+     * returns it. Settle it with succeeded() or refund(); a failed login
+     * simply leaves it counted.
+     */
+    public Attempt checkAllowed(String email, String clientIp) {
+        if (!enabled) {
+            return new Attempt(null, null, 0);
+        }
+        long now = System.currentTimeMillis();
+        String emailKey = normalize(email);
+
+        // IP first: a sprayed-from address is turned away before it touches the email map
+        byIp.acquire(clientIp, now);
+        try {
+            byEmail.acquire(emailKey, now);
+        } catch (TooManyRequestsException ex) {
+            byIp.release(clientIp, now);
+            throw ex;
+        }
+        return new Attempt(emailKey, clientIp, now);
+    }
+
+    /**
+     * One counted login attempt.
+     */
+    public final class Attempt {
+
+        private final String email;
+        private final String clientIp;
+        private final long at;
+        private boolean settled;
+
+        private Attempt(String email, String clientIp, long at) {
+            this.email = email;
+            this.clientIp = clientIp;
+            this.at = at;
+        }
+
+        // The email window is cleared; the IP only gets this attempt back,
+        // since a shared address may still be spraying other accounts
+        public void succeeded() {
+            if (settled) {
+                return;
+            }
+            settled = true;
+            if (email != null) {
+                byEmail.windows.invalidate(email);
+            }
+            byIp.release(clientIp, at);
+        }
+
+        // Not a wrong password (e.g. server busy): count nothing
+        public void refund() {
+            if (settled) {
+                return;
+            }
+            settled = true;
+            byEmail.release(email, at);
+            byIp.release(clientIp, at);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private final class Limiter {
+
+        private final int maxFailures;
+        private final long windowMillis;
+        private final Cache<String, Window> windows;
+        private final Counter rejected;
+
+        Limiter(String scope, int maxFailures, long windowSeconds) {
+            this.maxFailures = maxFailures;
+            this.windowMillis = windowSeconds * 1000;
+            this.windows = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofMillis(2 * windowMillis))
+                    .build();
+
+            rejected = Counter.builder("auth.login.throttled")
+                    .description("Login attempts rejected before password verification")
+                    .tag("scope", scope)
+                    .register(meterRegistry);
+            Gauge.builder("auth.login.throttle.keys", windows, Cache::estimatedSize)
+                    .description("Emails / IPs with a live attempt window")
+                    .tag("scope", scope)
+                    .register(meterRegistry);
+        }
+
+        void acquire(String key, long now) {
+            if (key == null) {
+                return;
+            }
+            Window window = windows.get(key, ignored -> new Window());
+            if (!window.tryAcquire(now, windowMillis, maxFailures)) {
+                rejected.increment();
+                long retryAfterSeconds = (windowMillis - now % windowMillis + 999) / 1000;
+                throw new TooManyRequestsException(
+                        "Too many failed login attempts, try again later", retryAfterSeconds);
+            }
+        }
+
+        void release(String key, long acquiredAt) {
+            if (key == null) {
+                return;
+            }
+            Window window = windows.getIfPresent(key);
+            if (window != null) {
+                window.release(acquiredAt, windowMillis);
+            }
+        }
+    }
+
+    /**
+     * Two fixed buckets approximating a sliding window: the previous bucket
+     * is weighted by how much of it still overlaps the window ending now.
+     * Packed as epoch (32 bits) | previous count (16) | current count (16).
+     */
+    static final class Window {
+
+        private static final long COUNT_MASK = 0xFFFF;
+
+        private final AtomicLong state = new AtomicLong();
+
+        // Counts one attempt unless the window is already at the limit
+        boolean tryAcquire(long now, long windowMillis, int limit) {
+            long epoch = now / windowMillis;
+            double overlap = 1.0 - (double) (now % windowMillis) / windowMillis;
+            long current;
+            long next;
+            do {
+                current = state.get();
+                long rolled = roll(current, epoch);
+                long previous = (rolled >>> 16) & COUNT_MASK;
+                long count = rolled & COUNT_MASK;
+                if (previous * overlap + count >= limit) {
+                    return false;
+                }
+                next = count == COUNT_MASK ? rolled : rolled + 1;
+            } while (!state.compareAndSet(current, next));
+            return true;
+        }
+
+        // Takes one attempt back out of the bucket it was counted in, if still held
+        void release(long acquiredAt, long windowMillis) {
+            long epoch = (acquiredAt / windowMillis) & 0xFFFFFFFFL;
+            long current;
+            long next;
+            do {
+                current = state.get();
+                long stateEpoch = current >>> 32;
+                if (stateEpoch == epoch && (current & COUNT_MASK) > 0) {
+                    next = current - 1;
+                } else if (stateEpoch == ((epoch + 1) & 0xFFFFFFFFL) && ((current >>> 16) & COUNT_MASK) > 0) {
+                    next = current - (1L << 16);
+                } else {
+                    return;
+                }
+            } while (!state.compareAndSet(current, next));
+        }
+
+        // State as seen from the given epoch: shift one bucket, or clear if older
+        private static long roll(long state, long epoch) {
+            long stateEpoch = state >>> 32;
+            long truncated = epoch & 0xFFFFFFFFL;
+            if (stateEpoch == truncated) {
+                return state;
+            }
+            long previous = stateEpoch == ((epoch - 1) & 0xFFFFFFFFL) ? state & COUNT_MASK : 0;
+            return (truncated << 32) | (previous << 16);
+        }
+    }
+}
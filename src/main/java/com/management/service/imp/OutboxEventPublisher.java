@@ -0,0 +1,64 @@
+package com.management.service.imp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.dto.event.UserEvent;
+import com.management.service.EventPublisherService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Default publisher: writes the event into outbox_events.
+ * JdbcTemplate joins the caller's transaction, so the event commits (or
+ * rolls back) together with the users change. OutboxRelay ships it to Kafka.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "events.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxEventPublisher implements EventPublisherService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (event_key, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(UserEvent event) {
+
+        jdbcTemplate.update(INSERT_SQL,
+                event.getEmail(),
+                event.getEventType(),
+                serialize(event),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // One JDBC batch (multi-row INSERT) for a whole chunk of events
+    @Override
+    public void publishAll(List<UserEvent> events) {
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(events.size());
+
+        for (UserEvent event : events) {
+            rows.add(new Object[]{event.getEmail(), event.getEventType(), serialize(event), now});
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private String serialize(UserEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize user event", ex);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.management.service.imp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.dto.event.UserEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ships outbox_events rows to the user-events topic in three steps:
+ * claim a batch (SELECT ... FOR UPDATE SKIP LOCKED, then a claimed_until
+ * lease) and commit, send it with batched producer sends outside any
+ * transaction, then mark the delivered rows done in a second short
+ * transaction. No row locks or pooled connection are held while waiting
+ * for acks, and several nodes can relay side by side.
+ * Delivery is at-least-once and in id order per key: after the first failed
+ * event of a key, the later events of that key are retried with it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "events.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final String SELECT_PENDING_SQL =
+            "SELECT id, event_key, payload FROM outbox_events " +
+            "WHERE processed_at IS NULL AND (claimed_until IS NULL OR claimed_until < ?) " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM outbox_events WHERE processed_at < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "outbox-relay");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    @Value("${events.outbox.poll-interval-ms:200}")
+    private long pollIntervalMs;
+
+    @Value("${events.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${events.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${events.outbox.claim-lease-ms:60000}")
+    private long claimLeaseMs;
+
+    @Value("${events.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       KafkaTemplate<String, UserEvent> kafkaTemplate,
+                       ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::drain,
+                pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purgeProcessed,
+                1, 1, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Keep relaying full batches back to back; stop once a batch comes up short
+    private void drain() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize && !scheduler.isShutdown());
+        } catch (Exception ex) {
+            log.error("Outbox relay failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    int relayBatch() {
+
+        List<OutboxRow> rows = claimBatch();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // Fire the whole batch first so the producer can group the records
+        List<Long> delivered = new ArrayList<>(rows.size());
+        List<OutboxRow> sent = new ArrayList<>(rows.size());
+        List<CompletableFuture<?>> futures = new ArrayList<>(rows.size());
+
+        for (OutboxRow row : rows) {
+            UserEvent event = toEvent(row);
+            if (event == null) {
+                // Unreadable payload would block the queue forever — retire it
+                delivered.add(row.id());
+                continue;
+            }
+            sent.add(row);
+            futures.add(kafkaTemplate.send(EventPublisherServiceImpl.TOPIC, row.key(), event));
+        }
+        kafkaTemplate.flush();
+
+        // Keys with an undelivered event: their later events must wait for it
+        Set<String> failedKeys = new HashSet<>();
+        List<Long> retry = new ArrayList<>();
+
+        for (int i = 0; i < futures.size(); i++) {
+            OutboxRow row = sent.get(i);
+            if (failedKeys.contains(row.key()) || Thread.currentThread().isInterrupted()) {
+                retry.add(row.id());
+                continue;
+            }
+            try {
+                futures.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                delivered.add(row.id());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                retry.add(row.id());
+            } catch (Exception ex) {
+                log.warn("Outbox event {} not delivered, will retry: {}", row.id(), ex.getMessage());
+                failedKeys.add(row.key());
+                retry.add(row.id());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            markProcessed(delivered);
+            // Hand failed rows straight back so the next poll retries them first
+            releaseClaims(retry);
+        });
+        return delivered.size();
+    }
+
+    private List<OutboxRow> claimBatch() {
+
+        List<OutboxRow> rows = transactionTemplate.execute(status -> {
+
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxRow> claimed = jdbcTemplate.query(SELECT_PENDING_SQL,
+                    (rs, rowNum) -> new OutboxRow(
+                            rs.getLong("id"),
+                            rs.getString("event_key"),
+                            rs.getString("payload")),
+                    Timestamp.valueOf(now), batchSize);
+
+            if (!claimed.isEmpty()) {
+                updateByIds("UPDATE outbox_events SET claimed_until = ? WHERE id IN ",
+                        Timestamp.valueOf(now.plus(claimLeaseMs, ChronoUnit.MILLIS)),
+                        claimed.stream().map(OutboxRow::id).toList());
+            }
+            return claimed;
+        });
+
+        return rows == null ? List.of() : rows;
+    }
+
+    private void markProcessed(List<Long> ids) {
+        updateByIds("UPDATE outbox_events SET processed_at = ? WHERE id IN ",
+                Timestamp.valueOf(LocalDateTime.now()), ids);
+    }
+
+    private void releaseClaims(List<Long> ids) {
+        updateByIds("UPDATE outbox_events SET claimed_until = ? WHERE id IN ", null, ids);
+    }
+
+    private void updateByIds(String sql, Timestamp value, List<Long> ids) {
+
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(value);
+        args.addAll(ids);
+
+        jdbcTemplate.update(sql + "(" + placeholders + ")", args.toArray());
+    }
+
+    // Delivered rows are only kept for troubleshooting; remove them in small chunks
+    private void purgeProcessed() {
+        try {
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours));
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PURGE_SQL, cutoff, 5000);
+            } while (deleted == 5000 && !scheduler.isShutdown());
+        } catch (Exception ex) {
+            log.warn("Outbox purge failed: {}", ex.getMessage());
+        }
+    }
+
+    private UserEvent toEvent(OutboxRow row) {
+        try {
+            return objectMapper.readValue(row.payload(), UserEvent.class);
+        } catch (Exception ex) {
+            log.error("Corrupt outbox payload, skipping id {}: {}", row.id(), ex.getMessage());
+            return null;
+        }
+    }
+
+    private record OutboxRow(long id, String key, String payload) {
+    }
+}
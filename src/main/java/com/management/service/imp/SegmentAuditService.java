@@ -0,0 +1,284 @@
+package com.management.service.imp;
+
+import com.management.dto.response.AuditLogPageResponse;
+import com.management.entity.AuditLog;
+import com.management.exception.InvalidRequestException;
+import com.management.service.AuditQueryService;
+import com.management.service.AuditService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Audit backend on local append-only segment files (audit.backend=segment),
+ * so audit volume never competes with user writes for MySQL IOPS or
+ * connections. log() copies one fixed-size record into the memory-mapped
+ * tail segment under a short lock; a full segment is sealed and a new one
+ * started. Pages are flushed to disk every fsync interval, and a record torn
+ * by a crash is cut off at the next startup. Also serves the admin audit
+ * search from the segments' sparse indexes, so audit_logs is not read at all.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "audit.backend", havingValue = "segment")
+public class SegmentAuditService implements AuditService, AuditQueryService {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${audit.segment.directory:audit-segments}")
+    private String directory;
+
+    @Value("${audit.segment.size-bytes:67108864}")
+    private long segmentSizeBytes;
+
+    @Value("${audit.segment.fsync-interval-ms:1000}")
+    private long fsyncIntervalMs;
+
+    // Sealed segments whose newest record is older than this are deleted; 0 = keep all
+    @Value("${audit.segment.retention-days:0}")
+    private int retentionDays;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    // Oldest first; the last one is the tail being appended to
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+
+    // Guarded by appendLock
+    private long nextSequence;
+    private long lastTimestamp;
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audit-segments");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Counter appendedCounter;
+
+    public SegmentAuditService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.appendedCounter = Counter.builder("audit.segment.appended")
+                .description("Audit records appended to segment files")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+
+        Path root = Path.of(directory);
+        Files.createDirectories(root);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(root)) {
+            // Zero-padded first sequence in the name, so name order is log order
+            files = listing.filter(AuditSegment::isSegmentFile).sorted().toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            segments.add(AuditSegment.open(files.get(i), i == files.size() - 1));
+        }
+
+        if (segments.isEmpty()) {
+            segments.add(AuditSegment.create(root, 1, segmentSizeBytes));
+        }
+        AuditSegment tail = tail();
+        nextSequence = tail.firstSequence() + tail.count();
+        lastTimestamp = Math.max(0, tail.maxTimestamp());
+
+        Gauge.builder("audit.segment.count", segments, List::size)
+                .description("Audit segment files on disk")
+                .register(meterRegistry);
+        Gauge.builder("audit.segment.bytes", segments,
+                        all -> all.stream().mapToLong(AuditSegment::sizeBytes).sum())
+                .description("Disk used by audit segment files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        scheduler.scheduleWithFixedDelay(this::flushSafely,
+                fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        if (retentionDays > 0) {
+            scheduler.scheduleWithFixedDelay(this::deleteExpiredSafely, 0, 1, TimeUnit.HOURS);
+        }
+
+        log.info("Audit segments opened → Directory: {}, Segments: {}, Next sequence: {}",
+                root.toAbsolutePath(), segments.size(), nextSequence);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        appendLock.lock();
+        try {
+            tail().force();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void log(String action, Long userId) {
+
+        byte[] bytes = encode(action);
+
+        appendLock.lock();
+        try {
+            // Taken under the lock: timestamps never go backwards along the log,
+            // so sequence order is (timestamp, id) order
+            long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+
+            if (!tail().append(nextSequence, timestamp, userId, bytes)) {
+                roll();
+                tail().append(nextSequence, timestamp, userId, bytes);
+            }
+            nextSequence++;
+            lastTimestamp = timestamp;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Audit segment roll failed", ex);
+        } finally {
+            appendLock.unlock();
+        }
+        appendedCounter.increment();
+    }
+
+    /**
+     * Same contract as the JDBC search. Segments are walked newest first and
+     * skipped by their time range; inside one, only the index blocks that can
+     * hold the user and time range are read, newest record first. The cursor
+     * id is the record sequence, which orders the log on its own.
+     */
+    @Override
+    public AuditLogPageResponse search(Long userId, String actionPrefix,
+                                       LocalDateTime from, LocalDateTime to,
+                                       int size, String cursor) {
+
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidRequestException("'from' must be before 'to'");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, AuditQueryServiceImpl.MAX_PAGE_SIZE));
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        long before = position == null ? Long.MAX_VALUE : position.id();
+        long lower = from == null ? Long.MIN_VALUE : toMillis(from);
+        long upper = to == null ? Long.MAX_VALUE : toMillis(to);
+        String prefix = actionPrefix == null || actionPrefix.isBlank() ? null : actionPrefix;
+
+        // One extra row tells whether another page exists
+        List<AuditLog> rows = new ArrayList<>(pageSize + 1);
+        List<AuditSegment> snapshot = List.copyOf(segments);
+
+        search:
+        for (int s = snapshot.size() - 1; s >= 0; s--) {
+            AuditSegment segment = snapshot.get(s);
+
+            if (segment.count() == 0 || segment.firstSequence() >= before
+                    || segment.minTimestamp() >= upper) {
+                continue;
+            }
+            if (segment.maxTimestamp() < lower) {
+                break;      // every older segment is older still
+            }
+
+            int[] blocks = segment.candidateBlocks(userId, lower, upper);
+            int published = segment.count();
+
+            for (int b = blocks.length - 1; b >= 0; b--) {
+                int first = blocks[b] * AuditSegment.BLOCK_RECORDS;
+                int last = Math.min(first + AuditSegment.BLOCK_RECORDS, published) - 1;
+
+                for (int slot = last; slot >= first; slot--) {
+                    AuditLog row = segment.read(slot);
+                    long millis = toMillis(row.getTimestamp());
+
+                    if (row.getId() >= before || millis >= upper || millis < lower
+                            || (userId != null && !userId.equals(row.getUserId()))
+                            || (prefix != null && !row.getAction().startsWith(prefix))) {
+                        continue;
+                    }
+                    rows.add(row);
+                    if (rows.size() > pageSize) {
+                        break search;
+                    }
+                }
+            }
+        }
+
+        return AuditQueryServiceImpl.toPage(rows, pageSize);
+    }
+
+    // Caller holds appendLock
+    private void roll() throws IOException {
+        AuditSegment full = tail();
+        full.seal();
+        segments.add(AuditSegment.create(Path.of(directory), nextSequence, segmentSizeBytes));
+        log.info("Audit segment sealed → First sequence: {}, Records: {}", full.firstSequence(), full.count());
+    }
+
+    private AuditSegment tail() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private void flushSafely() {
+        try {
+            // The tail only: sealed segments were forced when they were sealed
+            tail().force();
+        } catch (Exception ex) {
+            log.warn("Audit segment flush failed, will retry: {}", ex.getMessage());
+        }
+    }
+
+    private void deleteExpiredSafely() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays);
+        for (AuditSegment segment : segments) {
+            if (segment == tail() || segment.maxTimestamp() >= cutoff) {
+                break;
+            }
+            try {
+                segments.remove(segment);
+                segment.delete();
+                log.info("Audit segment expired → First sequence: {}", segment.firstSequence());
+            } catch (Exception ex) {
+                log.warn("Audit segment delete failed, will retry: {}", ex.getMessage());
+            }
+        }
+    }
+
+    // UTF-8, cut to the record's action field without splitting a character
+    private static byte[] encode(String action) {
+        byte[] bytes = (action == null ? "" : action).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= AuditSegment.MAX_ACTION_BYTES) {
+            return bytes;
+        }
+        int length = AuditSegment.MAX_ACTION_BYTES;
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
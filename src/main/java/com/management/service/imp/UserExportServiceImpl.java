@@ -0,0 +1,243 @@
+package com.management.service.imp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.service.UserExportService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams every user straight to the response.
+ * One forward-only, read-only query (users LEFT JOIN roles, ordered by id)
+ * streamed row by row (fetch size Integer.MIN_VALUE on this statement only);
+ * rows are folded into one record per user and written immediately, so only
+ * the current user is ever held in memory.
+ * No entities are loaded, so there is nothing to detach and the EAGER
+ * User.roles mapping is never touched.
+ */
+@Slf4j
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final String EXPORT_SQL = """
+            SELECT u.id, u.username, u.email, u.last_login, r.name AS role_name
+            FROM users u
+            LEFT JOIN user_roles ur ON ur.user_id = u.id
+            LEFT JOIN roles r ON r.id = ur.role_id
+            ORDER BY u.id""";
+
+    private static final String CSV_HEADER = "id,username,email,lastLogin,roles";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Timer exportTimer;
+
+    // Users written between explicit flushes of the response
+    @Value("${users.export.flush-every:1000}")
+    private int flushEvery;
+
+    public UserExportServiceImpl(JdbcTemplate jdbcTemplate,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.exportTimer = Timer.builder("users.export.duration")
+                .description("Time to stream a full user export")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long exportUsers(Format format, OutputStream out) {
+
+        long start = System.nanoTime();
+
+        try (RecordWriter writer = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out)) {
+
+            UserFolder folder = new UserFolder(writer);
+
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // MySQL streaming result set: rows are read one by one instead of buffered whole
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, folder);
+
+            folder.finish();
+
+            log.info("User export finished → Format: {}, Users: {}", format, folder.written);
+            return folder.written;
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("User export aborted", ex);
+        } finally {
+            exportTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Joined rows arrive grouped by user id; emit a user when the id changes
+    private final class UserFolder implements RowCallbackHandler {
+
+        private final RecordWriter writer;
+
+        private Long id;
+        private String username;
+        private String email;
+        private Timestamp lastLogin;
+        private final List<String> roles = new ArrayList<>();
+
+        private long written;
+
+        UserFolder(RecordWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+
+            long rowId = rs.getLong("id");
+
+            if (id == null || id != rowId) {
+                emit();
+                id = rowId;
+                username = rs.getString("username");
+                email = rs.getString("email");
+                lastLogin = rs.getTimestamp("last_login");
+                roles.clear();
+            }
+
+            String role = rs.getString("role_name");
+            if (role != null) {
+                roles.add(role);
+            }
+        }
+
+        void finish() throws IOException {
+            emit();
+            writer.flush();
+        }
+
+        private void emit() {
+            if (id == null) {
+                return;
+            }
+            try {
+                writer.write(id, username, email,
+                        lastLogin == null ? null : lastLogin.toLocalDateTime().toString(), roles);
+                if (++written % flushEvery == 0) {
+                    writer.flush();
+                }
+            } catch (IOException ex) {
+                // Client went away: stop reading, the cursor is closed by JdbcTemplate
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    private interface RecordWriter extends Closeable {
+
+        void write(Long id, String username, String email, String lastLogin, List<String> roles) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private final class NdjsonWriter implements RecordWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by the '\n' written below, not Jackson's default space
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(Long id, String username, String email, String lastLogin, List<String> roles) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeStringField("username", username);
+            generator.writeStringField("email", email);
+            generator.writeStringField("lastLogin", lastLogin);
+            generator.writeArrayFieldStart("roles");
+            for (String role : roles) {
+                generator.writeString(role);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvWriter implements RecordWriter {
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write(CSV_HEADER);
+            this.writer.write('\n');
+        }
+
+        @Override
+        public void write(Long id, String username, String email, String lastLogin, List<String> roles) throws IOException {
+            writer.write(String.valueOf(id));
+            writer.write(',');
+            writer.write(escape(username));
+            writer.write(',');
+            writer.write(escape(email));
+            writer.write(',');
+            writer.write(lastLogin == null ? "" : lastLogin);
+            writer.write(',');
+            writer.write(escape(String.join(";", roles)));
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Flush only; the servlet container owns the response stream
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.management.service.imp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.config.BoundedPasswordEncoder;
+import com.management.dto.event.UserEvent;
+import com.management.dto.request.RegisterRequest;
+import com.management.dto.response.ImportResultResponse;
+import com.management.entity.Role;
+import com.management.exception.ResourceNotFoundException;
+import com.management.repository.RoleRepository;
+import com.management.repository.UserRepository;
+import com.management.service.AuditService;
+import com.management.service.EmailAvailabilityService;
+import com.management.service.EventPublisherService;
+import com.management.service.UserImportService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk user import, chunk by chunk:
+ * parse + validate → one IN-query duplicate check → BCrypt on a fork-join
+ * pool (all cores by default, never on the login hashing pool) → one
+ * transaction with JDBC-batched users / user_roles inserts, audit entries
+ * and one batched event publish → committed emails marked taken in the email
+ * filter. Only one chunk is in memory at a time.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (username, email, password) VALUES (?, ?, ?)";
+
+    private static final String INSERT_USER_ROLE_SQL =
+            "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditService auditService;
+    private final EventPublisherService eventPublisherService;
+    private final EmailAvailabilityService emailAvailabilityService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    private final Counter importedCounter;
+    private final Counter duplicateCounter;
+    private final Counter invalidCounter;
+
+    @Value("${users.import.chunk-size:1000}")
+    private int chunkSize;
+
+    // 0 = one worker per CPU
+    @Value("${users.import.hashing-parallelism:0}")
+    private int hashingParallelism;
+
+    private ForkJoinPool hashingPool;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 RoleRepository roleRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 AuditService auditService,
+                                 EventPublisherService eventPublisherService,
+                                 EmailAvailabilityService emailAvailabilityService,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.auditService = auditService;
+        this.eventPublisherService = eventPublisherService;
+        this.emailAvailabilityService = emailAvailabilityService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+
+        this.importedCounter = Counter.builder("users.import.rows")
+                .tag("result", "imported").register(meterRegistry);
+        this.duplicateCounter = Counter.builder("users.import.rows")
+                .tag("result", "duplicate").register(meterRegistry);
+        this.invalidCounter = Counter.builder("users.import.rows")
+                .tag("result", "invalid").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        int parallelism = hashingParallelism > 0
+                ? hashingParallelism
+                : Runtime.getRuntime().availableProcessors();
+        hashingPool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        hashingPool.shutdown();
+        hashingPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public ImportResultResponse importUsers(InputStream in) {
+
+        Long roleId = roleRepository.findByName("ROLE_USER")
+                .map(Role::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Default role not found"));
+
+        Progress progress = new Progress();
+        List<RegisterRequest> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.received++;
+
+                RegisterRequest request = parse(line);
+                if (request == null) {
+                    progress.invalid++;
+                    invalidCounter.increment();
+                    continue;
+                }
+
+                chunk.add(request);
+                if (chunk.size() >= chunkSize) {
+                    importChunk(chunk, roleId, progress);
+                    chunk.clear();
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, roleId, progress);
+            }
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Import stream failed", ex);
+        }
+
+        long durationMs = progress.elapsedMs();
+
+        log.info("User import finished → Received: {}, Imported: {}, Duplicates: {}, Invalid: {}, Time: {} ms",
+                progress.received, progress.imported, progress.duplicates, progress.invalid, durationMs);
+
+        return ImportResultResponse.builder()
+                .received(progress.received)
+                .imported(progress.imported)
+                .duplicates(progress.duplicates)
+                .invalid(progress.invalid)
+                .durationMs(durationMs)
+                .usersPerSecond(progress.rate())
+                .build();
+    }
+
+    private RegisterRequest parse(String line) {
+        try {
+            RegisterRequest request = objectMapper.readValue(line, RegisterRequest.class);
+            return validator.validate(request).isEmpty() ? request : null;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private void importChunk(List<RegisterRequest> chunk, Long roleId, Progress progress) {
+
+        // Hash only what will actually be inserted
+        List<Candidate> candidates = hashAll(withoutDuplicates(chunk));
+
+        try {
+            insertChunk(candidates, roleId);
+        } catch (DuplicateKeyException ex) {
+            // An email was registered concurrently: re-check and retry once without it
+            Set<String> existing = new HashSet<>();
+            userRepository.findExistingEmails(candidates.stream().map(c -> c.request().getEmail()).toList())
+                    .forEach(email -> existing.add(key(email)));
+            candidates = candidates.stream()
+                    .filter(c -> !existing.contains(key(c.request().getEmail())))
+                    .toList();
+            insertChunk(candidates, roleId);
+        }
+
+        long duplicates = chunk.size() - candidates.size();
+
+        progress.imported += candidates.size();
+        progress.duplicates += duplicates;
+        importedCounter.increment(candidates.size());
+        duplicateCounter.increment(duplicates);
+
+        log.info("User import progress → Processed: {}, Imported: {}, Rate: {} users/s",
+                progress.received, progress.imported, progress.rate());
+    }
+
+    // Drops emails repeated in the chunk and emails already stored (one IN query).
+    // MySQL compares emails case-insensitively, so keys are lower-cased.
+    private List<RegisterRequest> withoutDuplicates(List<RegisterRequest> chunk) {
+
+        Map<String, RegisterRequest> unique = new LinkedHashMap<>();
+        for (RegisterRequest request : chunk) {
+            unique.putIfAbsent(key(request.getEmail()), request);
+        }
+
+        if (!unique.isEmpty()) {
+            List<String> emails = unique.values().stream().map(RegisterRequest::getEmail).toList();
+            for (String existing : userRepository.findExistingEmails(emails)) {
+                unique.remove(key(existing));
+            }
+        }
+
+        return new ArrayList<>(unique.values());
+    }
+
+    private List<Candidate> hashAll(List<RegisterRequest> requests) {
+
+        // Bypass the bounded login pool: the import brings its own workers
+        PasswordEncoder encoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.delegate()
+                : passwordEncoder;
+
+        return hashingPool.submit(() -> requests.parallelStream()
+                        .map(request -> new Candidate(request, encoder.encode(request.getPassword())))
+                        .toList())
+                .join();
+    }
+
+    private void insertChunk(List<Candidate> candidates, Long roleId) {
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<RegisterRequest> requests = candidates.stream().map(Candidate::request).toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            List<Object[]> users = new ArrayList<>(candidates.size());
+            for (Candidate candidate : candidates) {
+                RegisterRequest request = candidate.request();
+                users.add(new Object[]{request.getUsername(), request.getEmail(), candidate.hash()});
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER_SQL, users);
+
+            // IDENTITY keys: read the chunk's ids back with one IN query
+            Map<String, Long> ids = idsByEmail(requests);
+
+            List<Object[]> userRoles = new ArrayList<>(requests.size());
+            List<UserEvent> events = new ArrayList<>(requests.size());
+            LocalDateTime now = LocalDateTime.now();
+
+            for (RegisterRequest request : requests) {
+                Long userId = ids.get(key(request.getEmail()));
+                userRoles.add(new Object[]{userId, roleId});
+
+                auditService.log("REGISTERED", userId);
+
+                events.add(UserEvent.builder()
+                        .userId(userId)
+                        .email(request.getEmail())
+                        .eventType("REGISTERED")
+                        .timestamp(now)
+                        .build());
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, userRoles);
+
+            eventPublisherService.publishAll(events);
+        });
+
+        // Committed: known to this node's email filter right away, other nodes get the events
+        requests.forEach(request -> emailAvailabilityService.markTaken(request.getEmail()));
+    }
+
+    private Map<String, Long> idsByEmail(List<RegisterRequest> requests) {
+
+        String placeholders = String.join(",", Collections.nCopies(requests.size(), "?"));
+        Object[] emails = requests.stream().map(RegisterRequest::getEmail).toArray();
+
+        Map<String, Long> ids = new HashMap<>(requests.size() * 2);
+        jdbcTemplate.query("SELECT id, email FROM users WHERE email IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> ids.put(key(rs.getString("email")), rs.getLong("id")),
+                emails);
+        return ids;
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private record Candidate(RegisterRequest request, String hash) {
+    }
+
+    private static final class Progress {
+
+        private final long startNanos = System.nanoTime();
+
+        private long received;
+        private long imported;
+        private long duplicates;
+        private long invalid;
+
+        long elapsedMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+
+        long rate() {
+            long elapsed = Math.max(1, elapsedMs());
+            return imported * 1000 / elapsed;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.management.service.imp;
+
+import com.management.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Role membership (and the profile_version bump that goes with it) is
+ * written over JDBC, which Hibernate never sees, so the cached User entity
+ * and its User.roles collection are evicted here once those writes have
+ * committed (see AfterCommit).
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRolesCacheEvictor {
+
+    private static final String USER_ROLES = User.class.getName() + ".roles";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evict(Long userId) {
+        evictAll(List.of(userId));
+    }
+
+    public void evictAll(Collection<Long> userIds) {
+        List<Long> ids = List.copyOf(userIds);
+        AfterCommit.run(() -> {
+            Cache cache = cache();
+            for (Long userId : ids) {
+                cache.evictEntityData(User.class, userId);
+                cache.evictCollectionData(USER_ROLES, userId);
+            }
+        });
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+}
@@ -1,20 +1,24 @@
 package com.management.service.imp;
 
+import com.management.config.AuthPrincipal;
+import com.management.config.AuthoritySets;
 import com.management.dto.response.UserProfileResponse;
 import com.management.entity.User;
 import com.management.exception.ResourceNotFoundException;
 import com.management.mapper.UserMapper;
+import com.management.repository.AuthRow;
 import com.management.repository.UserRepository;
+import com.management.service.AuditService;
+import com.management.service.CacheInvalidationBus;
 import com.management.service.UserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +26,9 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final AuditService auditService;
+    private final LastLoginWriteBehind lastLoginWriteBehind;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     // REQUIRED for Spring Security Authentication
 
@@ -29,20 +36,21 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() ->
-                        new UsernameNotFoundException("User not found"));
-
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                user.getRoles()
-                        .stream()
-                        // IMPORTANT: role.getName() already contains ROLE_
-                        .map(role ->
-                                new SimpleGrantedAuthority(role.getName()))
-                        .collect(Collectors.toSet())
-        );
+        List<AuthRow> rows = userRepository.findAuthRowsByEmail(email);
+
+        if (rows.isEmpty()) {
+            throw new UsernameNotFoundException("User not found");
+        }
+
+        List<String> roleNames = new ArrayList<>(rows.size());
+        for (AuthRow row : rows) {
+            if (row.roleName() != null) {
+                roleNames.add(row.roleName());
+            }
+        }
+
+        AuthRow first = rows.get(0);
+        return new AuthPrincipal(first.email(), first.password(), AuthoritySets.of(roleNames));
     }
 
     // Cached user profile (/api/users/me)
@@ -59,17 +67,30 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         return userMapper.toResponse(user);
     }
 
-    // Update last login time
+    // Update last login time (write-behind, coalesced per user);
+    // the cached profile is evicted on every node, not just this one
     @Override
-    @CacheEvict(value = "currentUser", key = "#email")
     public void updateLastLogin(String email) {
 
-        User user = userRepository.findByEmail(email)
+        Long userId = userRepository.findIdByEmail(email)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("User not found"));
 
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        lastLoginWriteBehind.record(userId, LocalDateTime.now());
+
+        cacheInvalidationBus.evict(CacheInvalidationBus.CURRENT_USER, email);
+    }
+
+    // Login side effects: lastLogin is buffered and flushed in batches,
+    // so the request path does no UPDATE at all.
+    // No cache eviction — the cached profile doesn't include lastLogin.
+
+    @Override
+    public void recordLogin(Long userId) {
+
+        lastLoginWriteBehind.record(userId, LocalDateTime.now());
+
+        auditService.log("LOGIN", userId);
     }
 
     //Admin stats method
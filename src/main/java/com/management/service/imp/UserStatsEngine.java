@@ -0,0 +1,183 @@
+package com.management.service.imp;
+
+import com.management.dto.response.AdminStatsResponse;
+import com.management.repository.UserLoginView;
+import com.management.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory admin stats, fed by REGISTERED / LOGIN events.
+ * Total users is a lock-free counter; recent logins are the top-K users by
+ * latest login, kept as an immutable snapshot so reads are O(1).
+ * Bootstrapped from the database at startup and periodically re-synced,
+ * which also corrects drift from duplicate (at-least-once) events.
+ */
+@Slf4j
+@Component
+public class UserStatsEngine {
+
+    private static final Comparator<LoginEntry> NEWEST_FIRST =
+            Comparator.comparing(LoginEntry::lastLogin).reversed()
+                    .thenComparing(LoginEntry::userId, Comparator.reverseOrder());
+
+    private final UserRepository userRepository;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+
+    // Guarded by "this"; only touched on event/resync, never on reads
+    private final Map<Long, LoginEntry> latestByUser = new HashMap<>();
+    private final TreeSet<LoginEntry> ordered = new TreeSet<>(NEWEST_FIRST);
+
+    private volatile List<AdminStatsResponse.UserLoginInfo> snapshot = List.of();
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stats-resync");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    @Value("${stats.top-k:100}")
+    private int topK;
+
+    @Value("${stats.resync-interval-ms:300000}")
+    private long resyncIntervalMs;
+
+    public UserStatsEngine(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    void start() {
+        resync();
+        scheduler.scheduleWithFixedDelay(this::resyncSafely,
+                resyncIntervalMs, resyncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // ===== READS (no locks, no DB) =====
+
+    public long totalUsers() {
+        return totalUsers.get();
+    }
+
+    public int capacity() {
+        return topK;
+    }
+
+    public List<AdminStatsResponse.UserLoginInfo> recentLogins(int size) {
+        List<AdminStatsResponse.UserLoginInfo> current = snapshot;
+        return current.size() <= size ? current : current.subList(0, size);
+    }
+
+    // Entries strictly after (lastLogin, userId) in NEWEST_FIRST order — the
+    // engine's own keyset, so a walk that started here keeps its positions
+    public List<AdminStatsResponse.UserLoginInfo> recentLoginsAfter(LocalDateTime lastLogin, Long userId, int size) {
+        List<AdminStatsResponse.UserLoginInfo> current = snapshot;
+        int from = 0;
+        // At most top-K entries: a linear scan is cheaper than keeping an index
+        while (from < current.size() && !isAfter(current.get(from), lastLogin, userId)) {
+            from++;
+        }
+        return current.subList(from, Math.min(current.size(), from + size));
+    }
+
+    private static boolean isAfter(AdminStatsResponse.UserLoginInfo info, LocalDateTime lastLogin, Long userId) {
+        int byTime = info.getLastLogin().compareTo(lastLogin);
+        return byTime < 0 || (byTime == 0 && info.getUserId() < userId);
+    }
+
+    // ===== EVENTS =====
+
+    public void onRegistered() {
+        totalUsers.incrementAndGet();
+    }
+
+    public synchronized void onLogin(Long userId, String email, LocalDateTime lastLogin) {
+        if (userId == null || lastLogin == null) {
+            return;
+        }
+        if (offer(new LoginEntry(userId, email, lastLogin))) {
+            publishSnapshot();
+        }
+    }
+
+    // ===== DB BOOTSTRAP / RESYNC =====
+
+    void resync() {
+
+        long count = userRepository.count();
+        List<UserLoginView> rows = userRepository.findRecentLogins(PageRequest.of(0, topK));
+
+        synchronized (this) {
+            totalUsers.set(count);
+            // Merge: events newer than the DB (lastLogin is written behind) win
+            for (UserLoginView row : rows) {
+                offer(new LoginEntry(row.getId(), row.getEmail(), row.getLastLogin()));
+            }
+            publishSnapshot();
+        }
+    }
+
+    private void resyncSafely() {
+        try {
+            resync();
+        } catch (Exception ex) {
+            log.warn("Stats resync failed, serving in-memory values: {}", ex.getMessage());
+        }
+    }
+
+    // Caller holds the lock. Returns true if the top-K changed.
+    private boolean offer(LoginEntry entry) {
+
+        LoginEntry existing = latestByUser.get(entry.userId());
+        if (existing != null) {
+            if (!entry.lastLogin().isAfter(existing.lastLogin())) {
+                return false;
+            }
+            ordered.remove(existing);
+        } else if (ordered.size() >= topK
+                && NEWEST_FIRST.compare(entry, ordered.last()) > 0) {
+            // Older than everything we keep
+            return false;
+        }
+
+        ordered.add(entry);
+        latestByUser.put(entry.userId(), entry);
+
+        if (ordered.size() > topK) {
+            LoginEntry evicted = ordered.pollLast();
+            latestByUser.remove(evicted.userId());
+        }
+        return true;
+    }
+
+    private void publishSnapshot() {
+        snapshot = ordered.stream()
+                .map(entry -> AdminStatsResponse.UserLoginInfo.builder()
+                        .userId(entry.userId())
+                        .email(entry.email())
+                        .lastLogin(entry.lastLogin())
+                        .build())
+                .toList();
+    }
+
+    private record LoginEntry(Long userId, String email, LocalDateTime lastLogin) {
+    }
+}
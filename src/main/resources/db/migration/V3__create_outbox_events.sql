@@ -0,0 +1,12 @@
+-- Transactional outbox for user-events (written with the users change, relayed to Kafka)
+CREATE TABLE outbox_events (
+                               id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                               event_key VARCHAR(150),
+                               event_type VARCHAR(50) NOT NULL,
+                               payload TEXT NOT NULL,
+                               created_at DATETIME(6) NOT NULL,
+                               processed_at DATETIME(6)
+);
+
+-- Relay polls "processed_at IS NULL ORDER BY id"
+CREATE INDEX idx_outbox_pending ON outbox_events (processed_at, id);
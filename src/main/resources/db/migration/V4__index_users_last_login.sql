@@ -0,0 +1,3 @@
+-- Recent-logins keyset pagination: ORDER BY last_login DESC, id DESC
+-- (InnoDB appends the PK, so this index is ordered by (last_login, id))
+CREATE INDEX idx_users_last_login ON users (last_login);
@@ -0,0 +1,3 @@
+-- Auth lookup (email -> password hash + id for the role join) served from the
+-- index alone; InnoDB secondary indexes carry the PK, so id comes for free
+CREATE INDEX idx_users_auth ON users (email, password);
@@ -0,0 +1,3 @@
+-- Profile revision for ETags on /api/users/me: bumped on profile and role
+-- changes (JPA @Version + explicit bumps in RoleService), never on last_login
+ALTER TABLE users ADD COLUMN profile_version BIGINT NOT NULL DEFAULT 0;
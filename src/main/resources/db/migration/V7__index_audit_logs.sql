@@ -0,0 +1,12 @@
+-- Audit query API: keyset pagination ORDER BY timestamp DESC, id DESC.
+-- InnoDB appends the PK to every secondary index, so each of these is
+-- ordered by (..., timestamp, id) and a page is one bounded index range.
+
+-- Everything about one user
+CREATE INDEX idx_audit_user_ts ON audit_logs (user_id, timestamp);
+
+-- One action (prefix filters fan out over the distinct actions)
+CREATE INDEX idx_audit_action_ts ON audit_logs (action, timestamp);
+
+-- Time range only
+CREATE INDEX idx_audit_ts ON audit_logs (timestamp);
@@ -0,0 +1,26 @@
+-- Monthly RANGE partitions on timestamp, so expired months are removed with
+-- DROP PARTITION (metadata only) instead of a DELETE, and time-bounded queries
+-- prune to the months they touch.
+-- MySQL requires the partition column in every unique key: the PK becomes
+-- (id, timestamp) and timestamp NOT NULL (the audit writer always sets it).
+UPDATE audit_logs SET timestamp = '1970-01-01 00:00:00' WHERE timestamp IS NULL;
+
+ALTER TABLE audit_logs
+    MODIFY timestamp DATETIME NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, timestamp);
+
+-- Everything before the current month lands in p_history (dropped as a whole
+-- once past retention). AuditPartitionMaintainer adds the following months
+-- ahead of time by splitting the empty p_max.
+SET @this_month = DATE(DATE_FORMAT(CURRENT_DATE, '%Y-%m-01'));
+SET @next_month = @this_month + INTERVAL 1 MONTH;
+SET @ddl = CONCAT(
+        'ALTER TABLE audit_logs PARTITION BY RANGE COLUMNS(timestamp) (',
+        'PARTITION p_history VALUES LESS THAN (''', @this_month, '''), ',
+        'PARTITION p', DATE_FORMAT(@this_month, '%Y%m'), ' VALUES LESS THAN (''', @next_month, '''), ',
+        'PARTITION p_max VALUES LESS THAN (MAXVALUE))');
+
+PREPARE partition_audit_logs FROM @ddl;
+EXECUTE partition_audit_logs;
+DEALLOCATE PREPARE partition_audit_logs;
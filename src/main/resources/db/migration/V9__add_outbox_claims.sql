@@ -0,0 +1,3 @@
+-- Relay lease: a node claims pending rows and commits before sending to Kafka,
+-- so the row locks are not held across the sends. Expired claims are retaken.
+ALTER TABLE outbox_events ADD COLUMN claimed_until DATETIME(6);
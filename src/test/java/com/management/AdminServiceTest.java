@@ -1,16 +1,20 @@
 package com.management;
 
 import com.management.dto.response.AdminStatsResponse;
-import com.management.entity.User;
+import com.management.exception.InvalidRequestException;
+import com.management.repository.UserLoginView;
 import com.management.repository.UserRepository;
 import com.management.service.imp.AdminServiceImpl;
+import com.management.service.imp.UserStatsEngine;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,32 +25,164 @@ class AdminServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserStatsEngine userStatsEngine;
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
-    @Test
-    void getStats_ShouldReturnCorrectCounts() {
+    private static UserLoginView view(Long id, String email, LocalDateTime lastLogin) {
+        return new UserLoginView() {
+            public Long getId() { return id; }
+            public String getEmail() { return email; }
+            public LocalDateTime getLastLogin() { return lastLogin; }
+        };
+    }
 
-        User user1 = User.builder()
-                .id(1L)
-                .email("user1@gmail.com")
-                .lastLogin(LocalDateTime.now())
+    private static AdminStatsResponse.UserLoginInfo info(Long id, String email, LocalDateTime lastLogin) {
+        return AdminStatsResponse.UserLoginInfo.builder()
+                .userId(id)
+                .email(email)
+                .lastLogin(lastLogin)
                 .build();
+    }
 
-        User user2 = User.builder()
-                .id(2L)
-                .email("user2@gmail.com")
-                .lastLogin(LocalDateTime.now())
-                .build();
+    @Test
+    void getStats_ShouldServeFirstPageFromMemory() {
 
-        when(userRepository.findAll())
-                .thenReturn(List.of(user1, user2));
+        LocalDateTime now = LocalDateTime.now();
 
-        AdminStatsResponse response = adminService.getStats();
+        when(userStatsEngine.capacity()).thenReturn(100);
+        when(userStatsEngine.totalUsers()).thenReturn(2L);
+        when(userStatsEngine.recentLogins(21))
+                .thenReturn(List.of(
+                        info(1L, "user1@gmail.com", now),
+                        info(2L, "user2@gmail.com", now.minusMinutes(1))));
+
+        AdminStatsResponse response = adminService.getStats(20, null);
 
         assertEquals(2, response.getTotalUsers());
         assertEquals(2, response.getRecentLogins().size());
+        assertNull(response.getNextCursor());
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getStats_ShouldUseDatabase_WhenPageExceedsEngineCapacity() {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        when(userStatsEngine.capacity()).thenReturn(10);
+        when(userStatsEngine.totalUsers()).thenReturn(1L);
+        when(userRepository.findRecentLogins(any(Pageable.class)))
+                .thenReturn(List.of(view(1L, "user1@gmail.com", now)));
+
+        AdminStatsResponse response = adminService.getStats(50, null);
+
+        assertEquals(1, response.getRecentLogins().size());
+        verify(userStatsEngine, never()).recentLogins(anyInt());
+    }
+
+    @Test
+    void getStats_ShouldKeepWalkingMemory_WhenCursorCameFromMemory() {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        when(userStatsEngine.capacity()).thenReturn(100);
+        when(userStatsEngine.totalUsers()).thenReturn(5L);
+        when(userStatsEngine.recentLogins(3))
+                .thenReturn(List.of(
+                        info(5L, "user5@gmail.com", now),
+                        info(4L, "user4@gmail.com", now.minusMinutes(1)),
+                        info(3L, "user3@gmail.com", now.minusMinutes(2))));
+
+        AdminStatsResponse first = adminService.getStats(2, null);
+
+        assertEquals(2, first.getRecentLogins().size());
+        assertNotNull(first.getNextCursor());
+
+        when(userStatsEngine.recentLoginsAfter(now.minusMinutes(1), 4L, 3))
+                .thenReturn(List.of(
+                        info(3L, "user3@gmail.com", now.minusMinutes(2)),
+                        info(2L, "user2@gmail.com", now.minusMinutes(3)),
+                        info(1L, "user1@gmail.com", now.minusMinutes(4))));
+
+        AdminStatsResponse second = adminService.getStats(2, first.getNextCursor());
+
+        assertEquals(List.of(3L, 2L),
+                second.getRecentLogins().stream().map(AdminStatsResponse.UserLoginInfo::getUserId).toList());
+        assertNotNull(second.getNextCursor());
+
+        // Engine timestamps never reach the keyset query on users.last_login
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getStats_ShouldContinueFromStoredLastLogin_WhenMemoryRunsOut() {
+
+        // Event time vs. the second-precision value written behind
+        LocalDateTime event = LocalDateTime.of(2026, 10, 18, 12, 0, 0, 700_000_000);
+        LocalDateTime stored = LocalDateTime.of(2026, 10, 18, 12, 0, 1);
+
+        when(userStatsEngine.capacity()).thenReturn(100);
+        when(userStatsEngine.totalUsers()).thenReturn(4L);
+        when(userStatsEngine.recentLogins(3))
+                .thenReturn(List.of(
+                        info(4L, "user4@gmail.com", event.plusMinutes(1)),
+                        info(3L, "user3@gmail.com", event),
+                        info(2L, "user2@gmail.com", event.minusMinutes(1))));
+
+        AdminStatsResponse first = adminService.getStats(2, null);
+
+        when(userStatsEngine.recentLoginsAfter(event, 3L, 3))
+                .thenReturn(List.of(info(2L, "user2@gmail.com", event.minusMinutes(1))));
+        when(userRepository.findLastLoginById(3L)).thenReturn(Optional.of(stored));
+        when(userRepository.findRecentLoginsBefore(eq(stored), eq(3L), any(Pageable.class)))
+                .thenReturn(List.of(
+                        view(2L, "user2@gmail.com", stored.minusMinutes(1)),
+                        view(1L, "user1@gmail.com", stored.minusMinutes(2))));
+
+        AdminStatsResponse second = adminService.getStats(2, first.getNextCursor());
+
+        assertEquals(List.of(2L, 1L),
+                second.getRecentLogins().stream().map(AdminStatsResponse.UserLoginInfo::getUserId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void getStats_ShouldStayOnDatabase_WhenCursorCameFromDatabase() {
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        // Page as large as the engine: walk starts on the DB
+        when(userStatsEngine.capacity()).thenReturn(2);
+        when(userStatsEngine.totalUsers()).thenReturn(3L);
+        when(userRepository.findRecentLogins(any(Pageable.class)))
+                .thenReturn(List.of(
+                        view(3L, "user3@gmail.com", now),
+                        view(2L, "user2@gmail.com", now.minusMinutes(1)),
+                        view(1L, "user1@gmail.com", now.minusMinutes(2))));
+
+        AdminStatsResponse first = adminService.getStats(2, null);
+
+        assertNotNull(first.getNextCursor());
+
+        when(userRepository.findRecentLoginsBefore(eq(now.minusMinutes(1)), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(view(1L, "user1@gmail.com", now.minusMinutes(2))));
+
+        AdminStatsResponse second = adminService.getStats(2, first.getNextCursor());
+
+        assertEquals(1L, second.getRecentLogins().get(0).getUserId());
+        assertNull(second.getNextCursor());
+        verify(userStatsEngine, never()).recentLogins(anyInt());
+        verify(userStatsEngine, never()).recentLoginsAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    void getStats_ShouldThrowException_WhenCursorInvalid() {
 
-        verify(userRepository).findAll();
+        assertThrows(InvalidRequestException.class,
+                () -> adminService.getStats(20, "not-a-cursor"));
     }
-}
\ No newline at end of file
+}
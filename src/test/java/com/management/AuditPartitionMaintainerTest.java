@@ -0,0 +1,252 @@
+package com.management;
+
+import com.management.service.imp.AuditPartitionMaintainer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditPartitionMaintainerTest {
+
+    // months-ahead 3 → covered up to 2027-01; retention 12 → cutoff 2025-10-01
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement lockStatement;
+
+    @Mock
+    private ResultSet lockResult;
+
+    @Mock
+    private PreparedStatement releaseStatement;
+
+    @Mock
+    private ResultSet releaseResult;
+
+    @Mock
+    private PreparedStatement partitionsStatement;
+
+    @Mock
+    private Statement ddlStatement;
+
+    @Captor
+    private ArgumentCaptor<String> ddlCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+
+        doAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection))
+                .when(jdbcTemplate).execute(any(ConnectionCallback.class));
+
+        when(connection.prepareStatement("SELECT GET_LOCK(?, 0)")).thenReturn(lockStatement);
+        when(lockStatement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+        when(lockResult.getInt(1)).thenReturn(1);
+
+        when(connection.prepareStatement("SELECT RELEASE_LOCK(?)")).thenReturn(releaseStatement);
+        when(releaseStatement.executeQuery()).thenReturn(releaseResult);
+
+        when(connection.prepareStatement(startsWith("SELECT PARTITION_NAME"))).thenReturn(partitionsStatement);
+        when(connection.createStatement()).thenReturn(ddlStatement);
+
+        maintainer = new AuditPartitionMaintainer(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(maintainer, "monthsAhead", 3);
+        ReflectionTestUtils.setField(maintainer, "retentionMonths", 12);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(maintainer, "shutdown");
+    }
+
+    private record Row(String name, String description, long rows) {
+    }
+
+    private static Row bounded(String name, String lessThan) {
+        return new Row(name, "'" + lessThan + " 00:00:00'", 0);
+    }
+
+    private static Row max() {
+        return new Row("p_max", "MAXVALUE", 0);
+    }
+
+    // information_schema.PARTITIONS as returned by each successive read;
+    // the final read (for the gauge) sees the last layout again
+    private void partitionReads(Row[]... reads) throws SQLException {
+        ResultSet[] results = new ResultSet[reads.length + 1];
+        for (int i = 0; i < reads.length; i++) {
+            results[i] = resultSet(reads[i]);
+        }
+        results[reads.length] = resultSet(reads[reads.length - 1]);
+        when(partitionsStatement.executeQuery())
+                .thenReturn(results[0], Arrays.copyOfRange(results, 1, results.length));
+    }
+
+    private static ResultSet resultSet(Row... rows) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        AtomicInteger cursor = new AtomicInteger(-1);
+        when(rs.next()).thenAnswer(invocation -> cursor.incrementAndGet() < rows.length);
+        when(rs.getString("PARTITION_NAME")).thenAnswer(invocation -> rows[cursor.get()].name());
+        when(rs.getString("PARTITION_DESCRIPTION")).thenAnswer(invocation -> rows[cursor.get()].description());
+        when(rs.getLong("TABLE_ROWS")).thenAnswer(invocation -> rows[cursor.get()].rows());
+        return rs;
+    }
+
+    private void maintain() {
+        ReflectionTestUtils.invokeMethod(maintainer, "maintain", TODAY);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    // =========================
+    // CREATE AHEAD
+    // =========================
+    @Test
+    void maintain_ShouldCreateMonthsAhead_OnFirstRunAfterMigration() throws Exception {
+
+        // Layout left by V8: p_history, the current month, p_max
+        Row[] migrated = {bounded("p_history", "2026-10-01"), bounded("p202610", "2026-11-01"), max()};
+        Row[] split = {bounded("p_history", "2026-10-01"), bounded("p202610", "2026-11-01"),
+                bounded("p202611", "2026-12-01"), bounded("p202612", "2027-01-01"),
+                bounded("p202701", "2027-02-01"), max()};
+        partitionReads(migrated, split);
+
+        maintain();
+
+        verify(ddlStatement).execute(ddlCaptor.capture());
+        assertEquals("ALTER TABLE audit_logs REORGANIZE PARTITION p_max INTO ("
+                        + "PARTITION p202611 VALUES LESS THAN ('2026-12-01'), "
+                        + "PARTITION p202612 VALUES LESS THAN ('2027-01-01'), "
+                        + "PARTITION p202701 VALUES LESS THAN ('2027-02-01'), "
+                        + "PARTITION p_max VALUES LESS THAN (MAXVALUE))",
+                ddlCaptor.getValue());
+        assertEquals(3.0, counter("audit.partitions.created"));
+        assertEquals(0.0, counter("audit.partitions.dropped"));
+        assertEquals(6.0, meterRegistry.get("audit.partitions.count").gauge().value());
+        verify(releaseStatement).executeQuery();
+    }
+
+    @Test
+    void maintain_ShouldAddOnlyTheNewMonth_OnMonthRollover() throws Exception {
+
+        // Last run was in September: covered up to 2026-12
+        Row[] september = {bounded("p_history", "2026-09-01"), bounded("p202609", "2026-10-01"),
+                bounded("p202610", "2026-11-01"), bounded("p202611", "2026-12-01"),
+                bounded("p202612", "2027-01-01"), max()};
+        Row[] october = {bounded("p_history", "2026-09-01"), bounded("p202609", "2026-10-01"),
+                bounded("p202610", "2026-11-01"), bounded("p202611", "2026-12-01"),
+                bounded("p202612", "2027-01-01"), bounded("p202701", "2027-02-01"), max()};
+        partitionReads(september, october);
+
+        maintain();
+
+        verify(ddlStatement).execute(ddlCaptor.capture());
+        assertEquals("ALTER TABLE audit_logs REORGANIZE PARTITION p_max INTO ("
+                        + "PARTITION p202701 VALUES LESS THAN ('2027-02-01'), "
+                        + "PARTITION p_max VALUES LESS THAN (MAXVALUE))",
+                ddlCaptor.getValue());
+        assertEquals(1.0, counter("audit.partitions.created"));
+    }
+
+    @Test
+    void maintain_ShouldRunNoDdl_WhenMonthsAlreadyCovered() throws Exception {
+
+        Row[] covered = {bounded("p_history", "2026-10-01"), bounded("p202610", "2026-11-01"),
+                bounded("p202611", "2026-12-01"), bounded("p202612", "2027-01-01"),
+                bounded("p202701", "2027-02-01"), max()};
+        partitionReads(covered);
+
+        maintain();
+
+        verify(ddlStatement, never()).execute(anyString());
+        assertEquals(0.0, counter("audit.partitions.created"));
+    }
+
+    // =========================
+    // RETENTION
+    // =========================
+    @Test
+    void maintain_ShouldDropOnlyPartitionsEndingAtOrBeforeCutoff() throws Exception {
+
+        // p202509 ends exactly at the cutoff (2025-10-01) → expired; p202510 still holds October 2025
+        Row[] partitions = {bounded("p_history", "2025-09-01"), bounded("p202509", "2025-10-01"),
+                bounded("p202510", "2025-11-01"), bounded("p202610", "2026-11-01"),
+                bounded("p202611", "2026-12-01"), bounded("p202612", "2027-01-01"),
+                bounded("p202701", "2027-02-01"), max()};
+        partitionReads(partitions);
+
+        maintain();
+
+        verify(ddlStatement).execute(ddlCaptor.capture());
+        assertEquals("ALTER TABLE audit_logs DROP PARTITION p_history, p202509", ddlCaptor.getValue());
+        assertEquals(2.0, counter("audit.partitions.dropped"));
+    }
+
+    @Test
+    void maintain_ShouldKeepNewestBoundedPartition_WhenAllAreExpired() throws Exception {
+
+        // No p_max, so nothing is created and every bounded partition is past retention
+        Row[] partitions = {bounded("p_history", "2024-01-01"), bounded("p202401", "2024-02-01")};
+        partitionReads(partitions);
+
+        maintain();
+
+        verify(ddlStatement).execute(ddlCaptor.capture());
+        assertEquals("ALTER TABLE audit_logs DROP PARTITION p_history", ddlCaptor.getValue());
+        assertEquals(1.0, counter("audit.partitions.dropped"));
+    }
+
+    @Test
+    void maintain_ShouldDropNothing_WhenOnlyOneBoundedPartitionLeft() throws Exception {
+
+        Row[] partitions = {bounded("p202401", "2024-02-01")};
+        partitionReads(partitions);
+
+        maintain();
+
+        verify(ddlStatement, never()).execute(anyString());
+        assertEquals(0.0, counter("audit.partitions.dropped"));
+    }
+
+    // =========================
+    // LOCKING
+    // =========================
+    @Test
+    void maintain_ShouldSkip_WhenAnotherNodeHoldsTheLock() throws Exception {
+
+        when(lockResult.getInt(1)).thenReturn(0);
+
+        maintain();
+
+        verifyNoInteractions(partitionsStatement, ddlStatement);
+        verify(releaseStatement, never()).executeQuery();
+    }
+}
@@ -0,0 +1,106 @@
+package com.management;
+
+import com.management.dto.response.AuditLogPageResponse;
+import com.management.entity.AuditLog;
+import com.management.exception.InvalidRequestException;
+import com.management.repository.AuditLogRepository;
+import com.management.service.imp.AuditQueryServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditQueryServiceTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @InjectMocks
+    private AuditQueryServiceImpl auditQueryService;
+
+    private static AuditLog entry(Long id, String action, Long userId, LocalDateTime timestamp) {
+        return AuditLog.builder()
+                .id(id)
+                .action(action)
+                .userId(userId)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    @Test
+    void search_ShouldReturnCursor_AndResumeAfterLastRow() {
+
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        when(auditLogRepository.findPage(7L, null, null, null, null, null, 3))
+                .thenReturn(List.of(
+                        entry(30L, "LOGIN", 7L, now),
+                        entry(20L, "LOGIN", 7L, now.minusMinutes(1)),
+                        entry(10L, "LOGIN", 7L, now.minusMinutes(2))));
+
+        AuditLogPageResponse first = auditQueryService.search(7L, null, null, null, 2, null);
+
+        assertEquals(2, first.getEntries().size());
+        assertNotNull(first.getNextCursor());
+
+        when(auditLogRepository.findPage(7L, null, null, null, now.minusMinutes(1), 20L, 3))
+                .thenReturn(List.of(entry(10L, "LOGIN", 7L, now.minusMinutes(2))));
+
+        AuditLogPageResponse second = auditQueryService.search(7L, null, null, null, 2, first.getNextCursor());
+
+        assertEquals(1, second.getEntries().size());
+        assertEquals(10L, second.getEntries().get(0).getId());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void search_ShouldMergeMatchingActions_NewestFirst() {
+
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        when(auditLogRepository.findActionsStartingWith("ROLE_"))
+                .thenReturn(List.of("ROLE_ASSIGNED:ROLE_ADMIN", "ROLE_REVOKED:ROLE_ADMIN"));
+        when(auditLogRepository.findPage(isNull(), eq("ROLE_ASSIGNED:ROLE_ADMIN"),
+                any(), any(), any(), any(), eq(3)))
+                .thenReturn(List.of(
+                        entry(5L, "ROLE_ASSIGNED:ROLE_ADMIN", 1L, now),
+                        entry(2L, "ROLE_ASSIGNED:ROLE_ADMIN", 1L, now.minusHours(2))));
+        when(auditLogRepository.findPage(isNull(), eq("ROLE_REVOKED:ROLE_ADMIN"),
+                any(), any(), any(), any(), eq(3)))
+                .thenReturn(List.of(entry(4L, "ROLE_REVOKED:ROLE_ADMIN", 1L, now.minusHours(1))));
+
+        AuditLogPageResponse page = auditQueryService.search(null, "ROLE_", null, null, 2, null);
+
+        assertEquals(List.of(5L, 4L),
+                page.getEntries().stream().map(AuditLogPageResponse.Entry::getId).toList());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void search_ShouldReturnEmptyPage_WhenNoActionMatchesPrefix() {
+
+        when(auditLogRepository.findActionsStartingWith("NOPE")).thenReturn(List.of());
+
+        AuditLogPageResponse page = auditQueryService.search(null, "NOPE", null, null, 20, null);
+
+        assertTrue(page.getEntries().isEmpty());
+        verify(auditLogRepository, never()).findPage(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void search_ShouldThrowException_WhenRangeInverted() {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(InvalidRequestException.class,
+                () -> auditQueryService.search(null, null, now, now.minusDays(1), 20, null));
+    }
+}
@@ -0,0 +1,193 @@
+package com.management;
+
+import com.management.service.imp.AuditServiceImpl;
+import com.management.service.imp.AuditServiceImpl.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditServiceImpl auditService;
+
+    // Actions of every committed batch, in insert order
+    private final List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+    // Holds the writer inside its first batch until released
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch writerBusy = new CountDownLatch(1);
+    private final AtomicBoolean holdFirstBatch = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            if (holdFirstBatch.compareAndSet(true, false)) {
+                writerBusy.countDown();
+                if (!release.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("never released");
+                }
+            }
+            List<Object[]> rows = invocation.getArgument(1);
+            rows.forEach(row -> written.add((String) row[0]));
+            return new int[rows.size()];
+        });
+
+        auditService = new AuditServiceImpl(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        ReflectionTestUtils.invokeMethod(auditService, "shutdown");
+    }
+
+    private void start(OverflowPolicy policy, int capacity, int maxBatch, long flushIntervalMs) {
+        ReflectionTestUtils.setField(auditService, "capacity", capacity);
+        ReflectionTestUtils.setField(auditService, "maxBatch", maxBatch);
+        ReflectionTestUtils.setField(auditService, "flushIntervalMs", flushIntervalMs);
+        ReflectionTestUtils.setField(auditService, "overflowPolicy", policy);
+        ReflectionTestUtils.setField(auditService, "spillFilePath", spillFile().toString());
+        ReflectionTestUtils.invokeMethod(auditService, "start");
+    }
+
+    private Path spillFile() {
+        return directory.resolve("audit-spill.log");
+    }
+
+    // Writer stuck on A, buffer (capacity 2) holding B and C
+    private void fillWhileWriterBusy() throws InterruptedException {
+        holdFirstBatch.set(true);
+        auditService.log("A", 1L);
+        assertTrue(writerBusy.await(5, TimeUnit.SECONDS));
+        auditService.log("B", 1L);
+        auditService.log("C", 1L);
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (written.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void log_ShouldWaitForSpace_WhenBlockPolicy() throws Exception {
+
+        start(OverflowPolicy.BLOCK, 2, 1, 50);
+        fillWhileWriterBusy();
+
+        Thread caller = new Thread(() -> auditService.log("D", 1L));
+        caller.start();
+        caller.join(200);
+        assertTrue(caller.isAlive(), "caller should block on a full buffer");
+
+        release.countDown();
+        caller.join(5_000);
+        awaitWritten(4);
+
+        assertEquals(List.of("A", "B", "C", "D"), written);
+    }
+
+    @Test
+    void log_ShouldEvictOldestBuffered_WhenDropOldestPolicy() throws Exception {
+
+        start(OverflowPolicy.DROP_OLDEST, 2, 1, 50);
+        fillWhileWriterBusy();
+
+        auditService.log("D", 1L);
+
+        release.countDown();
+        awaitWritten(3);
+
+        assertEquals(List.of("A", "C", "D"), written);
+        assertEquals(1.0, meterRegistry.get("audit.writer.dropped").counter().count());
+    }
+
+    @Test
+    void log_ShouldSpillToFile_AndReplayWhenIdle_WhenSpillPolicy() throws Exception {
+
+        start(OverflowPolicy.SPILL, 2, 1, 50);
+        fillWhileWriterBusy();
+
+        auditService.log("D", 7L);
+
+        assertEquals(1.0, meterRegistry.get("audit.writer.spilled").counter().count());
+        assertTrue(Files.readString(spillFile()).endsWith("|7|D" + System.lineSeparator()));
+
+        release.countDown();
+        awaitWritten(4);
+
+        assertEquals(List.of("A", "B", "C", "D"), written);
+        assertFalse(Files.exists(spillFile()));
+    }
+
+    @Test
+    void replaySpill_ShouldNotReinsertCommittedChunks_WhenLaterChunkFails() throws Exception {
+
+        // Long idle interval: only the explicit replays below touch the file
+        start(OverflowPolicy.SPILL, 10, 1, 60_000);
+        Files.write(spillFile(), List.of("1000|1|A", "2000|1|B", "3000|1|C"));
+
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException("database down");
+            }
+            List<Object[]> rows = invocation.getArgument(1);
+            rows.forEach(row -> written.add((String) row[0]));
+            return new int[rows.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        ReflectionTestUtils.invokeMethod(auditService, "replaySpill");
+        assertEquals(List.of("A"), written);
+
+        ReflectionTestUtils.invokeMethod(auditService, "replaySpill");
+        assertEquals(List.of("A", "B", "C"), written);
+
+        assertFalse(Files.exists(directory.resolve("audit-spill.log.replaying")));
+    }
+
+    @Test
+    void shutdown_ShouldDrainBufferAndSpill() throws Exception {
+
+        start(OverflowPolicy.SPILL, 2, 1, 50);
+        fillWhileWriterBusy();
+        auditService.log("D", 1L);     // spilled
+
+        // Interrupting the writer fails its in-flight batch (A), which is spilled too
+        ReflectionTestUtils.invokeMethod(auditService, "shutdown");
+
+        assertEquals(List.of("A", "B", "C", "D"), written.stream().sorted().toList());
+        assertFalse(Files.exists(spillFile()));
+    }
+}
@@ -7,17 +7,23 @@ import com.management.entity.Role;
 import com.management.entity.User;
 import com.management.exception.EmailAlreadyExistsException;
 import com.management.exception.InvalidCredentialsException;
+import com.management.exception.ServiceUnavailableException;
+import com.management.exception.TooManyRequestsException;
 import com.management.repository.RoleRepository;
 import com.management.repository.UserRepository;
 import com.management.config.JwtService;
 import com.management.mapper.UserMapper;
 import com.management.service.AuditService;
+import com.management.service.EmailAvailabilityService;
 import com.management.service.EventPublisherService;
+import com.management.service.UserService;
 import com.management.service.imp.AuthServiceImpl;
+import com.management.service.imp.LoginThrottle;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
-import org.springframework.security.authentication.*;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
@@ -35,9 +41,6 @@ class AuthServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @Mock
-    private AuthenticationManager authenticationManager;
-
     @Mock
     private JwtService jwtService;
 
@@ -50,12 +53,35 @@ class AuthServiceImplTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private LoginThrottle.Attempt attempt;
+
+    @Mock
+    private EmailAvailabilityService emailAvailabilityService;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+
+        // Run transactional blocks inline
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation
+                        .<TransactionCallback<?>>getArgument(0)
+                        .doInTransaction(null));
+
+        when(loginThrottle.checkAllowed(any(), any())).thenReturn(attempt);
     }
 
     // REGISTER SUCCESS
@@ -70,7 +96,7 @@ class AuthServiceImplTest {
         Role role = Role.builder().name("ROLE_USER").build();
         User user = User.builder().email("test@gmail.com").build();
 
-        when(userRepository.existsByEmail("test@gmail.com")).thenReturn(false);
+        when(emailAvailabilityService.isAvailable("test@gmail.com")).thenReturn(true);
         when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(role));
         when(passwordEncoder.encode("Password1")).thenReturn("encoded");
         when(userMapper.toEntity(any(), any(), any())).thenReturn(user);
@@ -81,6 +107,7 @@ class AuthServiceImplTest {
         verify(userRepository).save(user);
         verify(auditService).log(eq("REGISTERED"), any());
         verify(eventPublisherService).publish(any());
+        verify(emailAvailabilityService).markTaken("test@gmail.com");
     }
 
     // REGISTER FAIL
@@ -91,10 +118,12 @@ class AuthServiceImplTest {
         RegisterRequest request = new RegisterRequest();
         request.setEmail("test@gmail.com");
 
-        when(userRepository.existsByEmail("test@gmail.com")).thenReturn(true);
+        when(emailAvailabilityService.isAvailable("test@gmail.com")).thenReturn(false);
 
         assertThrows(EmailAlreadyExistsException.class,
                 () -> authService.register(request));
+
+        verify(userRepository, never()).save(any());
     }
 
     // LOGIN SUCCESS
@@ -109,21 +138,54 @@ class AuthServiceImplTest {
         User user = User.builder()
                 .id(1L)
                 .email("test@gmail.com")
+                .password("encoded")
                 .build();
 
-        when(userRepository.findByEmail("test@gmail.com"))
+        when(userRepository.findWithRolesByEmail("test@gmail.com"))
                 .thenReturn(Optional.of(user));
 
+        when(passwordEncoder.matches("Password1", "encoded"))
+                .thenReturn(true);
+
         when(jwtService.generateToken(user))
                 .thenReturn("fake-jwt-token");
 
-        AuthResponse response = authService.login(request);
+        AuthResponse response = authService.login(request, "10.0.0.1");
 
         assertNotNull(response);
         assertEquals("fake-jwt-token", response.getToken());
 
-        verify(auditService).log("LOGIN", 1L);
+        verify(userRepository, times(1)).findWithRolesByEmail("test@gmail.com");
+        verify(userRepository, never()).findByEmail(any());
+        verify(userService).recordLogin(1L);
         verify(eventPublisherService).publish(any());
+        verify(attempt).succeeded();
+    }
+
+    // LOGIN — LEGACY HASH UPGRADED
+
+    @Test
+    void login_ShouldRehashPassword_WhenEncodingOutdated() {
+
+        LoginRequest request = new LoginRequest();
+        request.setEmail("test@gmail.com");
+        request.setPassword("Password1");
+
+        User user = User.builder()
+                .id(1L)
+                .email("test@gmail.com")
+                .password("legacy")
+                .build();
+
+        when(userRepository.findWithRolesByEmail("test@gmail.com"))
+                .thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("Password1", "legacy")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("legacy")).thenReturn(true);
+        when(passwordEncoder.encode("Password1")).thenReturn("{bcrypt}new");
+
+        authService.login(request, "10.0.0.1");
+
+        verify(userRepository).updatePassword(1L, "{bcrypt}new");
     }
 
     // LOGIN FAIL
@@ -134,11 +196,89 @@ class AuthServiceImplTest {
         request.setEmail("test@gmail.com");
         request.setPassword("wrong");
 
-        doThrow(new BadCredentialsException("Bad"))
-                .when(authenticationManager)
-                .authenticate(any());
+        User user = User.builder()
+                .id(1L)
+                .email("test@gmail.com")
+                .password("encoded")
+                .build();
+
+        when(userRepository.findWithRolesByEmail("test@gmail.com"))
+                .thenReturn(Optional.of(user));
+
+        when(passwordEncoder.matches("wrong", "encoded"))
+                .thenReturn(false);
 
         assertThrows(InvalidCredentialsException.class,
-                () -> authService.login(request));
+                () -> authService.login(request, "10.0.0.1"));
+
+        verify(userService, never()).recordLogin(any());
+        // Counted by checkAllowed; a failure leaves it counted
+        verify(loginThrottle).checkAllowed("test@gmail.com", "10.0.0.1");
+        verify(attempt, never()).succeeded();
+        verify(attempt, never()).refund();
+    }
+
+    // LOGIN — SERVER BUSY IS NOT A FAILED GUESS
+
+    @Test
+    void login_ShouldRefundAttempt_WhenPasswordCheckUnavailable() {
+
+        LoginRequest request = new LoginRequest();
+        request.setEmail("test@gmail.com");
+        request.setPassword("Password1");
+
+        User user = User.builder()
+                .id(1L)
+                .email("test@gmail.com")
+                .password("encoded")
+                .build();
+
+        when(userRepository.findWithRolesByEmail("test@gmail.com"))
+                .thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("Password1", "encoded"))
+                .thenThrow(new ServiceUnavailableException("Server is busy, please retry shortly"));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> authService.login(request, "10.0.0.1"));
+
+        verify(attempt).refund();
+        verify(attempt, never()).succeeded();
+    }
+
+    // LOGIN THROTTLED — REJECTED BEFORE ANY LOOKUP OR HASHING
+
+    @Test
+    void login_ShouldRejectBeforeHashing_WhenThrottled() {
+
+        LoginRequest request = new LoginRequest();
+        request.setEmail("test@gmail.com");
+        request.setPassword("guess");
+
+        doThrow(new TooManyRequestsException("Too many failed login attempts", 60))
+                .when(loginThrottle).checkAllowed("test@gmail.com", "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class,
+                () -> authService.login(request, "10.0.0.1"));
+
+        verifyNoInteractions(userRepository, passwordEncoder);
+    }
+
+    // LOGIN FAIL — UNKNOWN EMAIL STILL PAYS FOR A HASH CHECK
+
+    @Test
+    void login_ShouldStillVerifyPassword_WhenEmailUnknown() {
+
+        LoginRequest request = new LoginRequest();
+        request.setEmail("nobody@gmail.com");
+        request.setPassword("whatever");
+
+        when(userRepository.findWithRolesByEmail("nobody@gmail.com"))
+                .thenReturn(Optional.empty());
+        when(passwordEncoder.encode(any())).thenReturn("dummy");
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> authService.login(request, "10.0.0.1"));
+
+        verify(passwordEncoder).matches("whatever", "dummy");
     }
 }
\ No newline at end of file
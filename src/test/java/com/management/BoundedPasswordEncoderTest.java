@@ -0,0 +1,128 @@
+package com.management;
+
+import com.management.config.BoundedPasswordEncoder;
+import com.management.config.PasswordEncoderConfig;
+import com.management.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private ThreadPoolExecutor executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        // One worker, one queue slot, same shape as the passwordHashingExecutor bean
+        executor = new PasswordEncoderConfig().passwordHashingExecutor(1, 1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    private void occupyWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+    }
+
+    @Test
+    void matches_ShouldRunOnExecutor_AndReturnDelegateResult() {
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(bcrypt, executor, 5_000);
+
+        String hash = encoder.encode("Secret@123");
+
+        assertTrue(encoder.matches("Secret@123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void encode_ShouldThrowServiceUnavailable_WhenQueueFull() throws Exception {
+
+        BoundedPasswordEncoder encoder =
+                new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), executor, 5_000);
+
+        occupyWorker();
+        executor.execute(() -> { });    // takes the only queue slot
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("Secret@123"));
+    }
+
+    @Test
+    void encode_ShouldThrowServiceUnavailable_AndCancelTask_WhenWaitTimesOut() throws Exception {
+
+        AtomicInteger hashes = new AtomicInteger();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        PasswordEncoder counting = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashes.incrementAndGet();
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(counting, executor, 50);
+
+        occupyWorker();
+
+        long started = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("Secret@123"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 2_000);
+
+        // The cancelled task is not left behind to hash for nobody
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, hashes.get());
+    }
+
+    @Test
+    void passwordEncoder_ShouldUseConfiguredStrength() {
+
+        PasswordEncoder encoder = new PasswordEncoderConfig()
+                .passwordEncoder(executor, 5, 10, 14, 250, 5_000);
+
+        assertTrue(encoder.encode("Secret@123").startsWith("{bcrypt}$2a$05$"));
+    }
+
+    @Test
+    void passwordEncoder_ShouldCalibrateToMinStrength_WhenEveryCostMissesTarget() {
+
+        PasswordEncoder encoder = new PasswordEncoderConfig()
+                .passwordEncoder(executor, 0, 4, 6, -1, 5_000);
+
+        assertTrue(encoder.encode("Secret@123").startsWith("{bcrypt}$2a$04$"));
+    }
+
+    @Test
+    void passwordEncoder_ShouldCalibrateToMaxStrength_WhenEveryCostMeetsTarget() {
+
+        PasswordEncoder encoder = new PasswordEncoderConfig()
+                .passwordEncoder(executor, 0, 4, 5, 60_000, 5_000);
+
+        assertTrue(encoder.encode("Secret@123").startsWith("{bcrypt}$2a$05$"));
+    }
+}
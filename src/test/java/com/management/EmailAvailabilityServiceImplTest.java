@@ -0,0 +1,89 @@
+package com.management;
+
+import com.management.exception.InvalidRequestException;
+import com.management.repository.UserRepository;
+import com.management.service.imp.EmailAvailabilityServiceImpl;
+import com.management.service.imp.EmailBloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmailAvailabilityServiceImplTest {
+
+    @Mock
+    private EmailBloomFilter emailBloomFilter;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailAvailabilityServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new EmailAvailabilityServiceImpl(emailBloomFilter, userRepository, meterRegistry);
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("users.email_filter.checks").tag("result", result).counter().count();
+    }
+
+    @Test
+    void isAvailable_ShouldSkipDatabase_WhenFilterMisses() {
+
+        when(emailBloomFilter.mightContain("new@gmail.com")).thenReturn(false);
+
+        assertTrue(service.isAvailable("new@gmail.com"));
+
+        verifyNoInteractions(userRepository);
+        assertEquals(1.0, checks("absent"));
+    }
+
+    @Test
+    void isAvailable_ShouldReturnFalse_WhenHitIsConfirmed() {
+
+        when(emailBloomFilter.mightContain("john@gmail.com")).thenReturn(true);
+        when(userRepository.existsByEmail("john@gmail.com")).thenReturn(true);
+
+        assertFalse(service.isAvailable("john@gmail.com"));
+
+        assertEquals(1.0, checks("taken"));
+    }
+
+    @Test
+    void isAvailable_ShouldReturnTrue_OnFalsePositive() {
+
+        when(emailBloomFilter.mightContain("other@gmail.com")).thenReturn(true);
+        when(userRepository.existsByEmail("other@gmail.com")).thenReturn(false);
+
+        assertTrue(service.isAvailable("other@gmail.com"));
+
+        assertEquals(1.0, checks("false_positive"));
+        assertEquals(0.0, checks("absent"));
+    }
+
+    @Test
+    void isAvailable_ShouldReject_InvalidEmail() {
+
+        assertThrows(InvalidRequestException.class, () -> service.isAvailable(null));
+        assertThrows(InvalidRequestException.class, () -> service.isAvailable("  "));
+        assertThrows(InvalidRequestException.class, () -> service.isAvailable("not-an-email"));
+
+        verifyNoInteractions(emailBloomFilter, userRepository);
+    }
+
+    @Test
+    void markTaken_ShouldAddEmailToFilter() {
+
+        service.markTaken("john@gmail.com");
+
+        verify(emailBloomFilter).put("john@gmail.com");
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+}
@@ -0,0 +1,119 @@
+package com.management;
+
+import com.management.service.imp.EmailBloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmailBloomFilterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailBloomFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+
+        // Startup scan returns one stored email
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(7L);
+        when(row.getString(2)).thenReturn("Stored@Gmail.com");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        filter = new EmailBloomFilter(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(filter, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(filter, "expectedInsertions", 10_000L);
+        ReflectionTestUtils.invokeMethod(filter, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(filter, "shutdown");
+    }
+
+    @Test
+    void mightContain_ShouldKnowScannedEmails_CaseInsensitively() {
+
+        assertTrue(filter.mightContain("stored@gmail.com"));
+    }
+
+    @Test
+    void mightContain_ShouldHaveNoFalseNegatives_AndBoundedFalsePositives() {
+
+        // Stays under the sized capacity, so no background rebuild kicks in
+        for (int i = 0; i < 9_000; i++) {
+            filter.put("user" + i + "@gmail.com");
+        }
+        for (int i = 0; i < 9_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@gmail.com"));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other" + i + "@yahoo.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Sized for 1%; allow some slack for hashing variance
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertTrue(filter.memoryBytes() > 0);
+        assertEquals(filter.memoryBytes(),
+                meterRegistry.get("users.email_filter.bytes").gauge().value());
+    }
+
+    @Test
+    void catchUp_ShouldAddUsersPastTheLastScannedId() throws Exception {
+
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(8L, 9L);
+        when(row.getString(2)).thenReturn("late1@gmail.com", "late2@gmail.com");
+
+        List<Object> fromIds = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            fromIds.add(invocation.getArgument(2));
+            if (fromIds.size() == 1) {
+                invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+                invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            }
+            done.countDown();
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, email FROM users WHERE id >"),
+                any(RowCallbackHandler.class), any(Object[].class));
+
+        assertFalse(filter.mightContain("late1@gmail.com"));
+
+        filter.catchUp();
+        filter.catchUp();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(filter.mightContain("late1@gmail.com"));
+        assertTrue(filter.mightContain("late2@gmail.com"));
+        // From the startup scan's highest id, then from the highest id caught up
+        assertEquals(List.of(7L, 9L), fromIds);
+    }
+}
@@ -0,0 +1,163 @@
+package com.management;
+
+import com.management.config.JwtService;
+import com.management.config.TokenVersionRegistry;
+import com.management.config.VerifiedToken;
+import com.management.entity.Role;
+import com.management.entity.User;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JwtServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        tokenVersionRegistry = registry();
+        jwtService = new JwtService(tokenVersionRegistry);
+
+        ReflectionTestUtils.setField(jwtService, "SECRET",
+                "test-secret-key-must-be-at-least-32-chars-long!!");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+    }
+
+    // A fresh registry has nothing cached, like a node after a restart
+    private TokenVersionRegistry registry() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(jdbcTemplate);
+        ReflectionTestUtils.setField(registry, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(registry, "maxSize", 100L);
+        ReflectionTestUtils.invokeMethod(registry, "init");
+        return registry;
+    }
+
+    private void storedVersion(Long... versions) {
+        when(jdbcTemplate.queryForList(startsWith("SELECT profile_version"), eq(Long.class), eq(1L)))
+                .thenReturn(List.of(versions));
+    }
+
+    private User user() {
+        return User.builder()
+                .id(1L)
+                .email("test@gmail.com")
+                .profileVersion(0L)
+                .roles(Set.of(Role.builder().name("ROLE_USER").build()))
+                .build();
+    }
+
+    // =========================
+    // VERIFY — CLAIMS
+    // =========================
+    @Test
+    void verify_ShouldReturnClaims_WhenTokenValid() {
+
+        String token = jwtService.generateToken(user());
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertEquals("test@gmail.com", verified.email());
+        assertEquals(1L, verified.userId());
+        assertEquals(Set.of("ROLE_USER"), verified.roles());
+        assertFalse(verified.isExpired());
+    }
+
+    // =========================
+    // VERIFY — CACHED
+    // =========================
+    @Test
+    void verify_ShouldReuseParsedToken_WhenCalledTwice() {
+
+        String token = jwtService.generateToken(user());
+
+        assertSame(jwtService.verify(token), jwtService.verify(token));
+    }
+
+    // =========================
+    // VERIFY — TAMPERED
+    // =========================
+    @Test
+    void verify_ShouldThrowException_WhenSignatureInvalid() {
+
+        String token = jwtService.generateToken(user());
+
+        // Flip one payload character; appending one would only add bits the Base64 decoder drops
+        String[] parts = token.split("\\.");
+        char[] payload = parts[1].toCharArray();
+        int middle = payload.length / 2;
+        payload[middle] = payload[middle] == 'A' ? 'B' : 'A';
+        String tampered = parts[0] + "." + new String(payload) + "." + parts[2];
+
+        assertThrows(JwtException.class,
+                () -> jwtService.verify(tampered));
+    }
+
+    // =========================
+    // VERSION — STALE AFTER ROLE CHANGE
+    // =========================
+    @Test
+    void isVersionCurrent_ShouldBeFalse_AfterRoleChangeIsEvicted() {
+
+        storedVersion(0L);
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(user()));
+
+        assertEquals(0L, verified.version());
+        assertTrue(jwtService.isVersionCurrent(verified));
+
+        // Role change committed: profile_version bumped, cached version evicted
+        storedVersion(1L);
+        tokenVersionRegistry.evict(List.of(1L));
+
+        assertFalse(jwtService.isVersionCurrent(verified));
+    }
+
+    @Test
+    void isVersionCurrent_ShouldBeFalse_ForOldToken_OnNodeThatNeverSawTheChange() {
+
+        String token = jwtService.generateToken(user());
+
+        // Another node (or this one after a restart): only the database knows the version
+        storedVersion(1L);
+        JwtService otherNode = new JwtService(registry());
+        ReflectionTestUtils.setField(otherNode, "SECRET",
+                "test-secret-key-must-be-at-least-32-chars-long!!");
+        ReflectionTestUtils.setField(otherNode, "jwtExpiration", 3600000L);
+        ReflectionTestUtils.setField(otherNode, "cacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(otherNode, "init");
+
+        assertFalse(otherNode.isVersionCurrent(otherNode.verify(token)));
+    }
+
+    @Test
+    void isVersionCurrent_ShouldCacheVersion_AndRejectDeletedUser() {
+
+        storedVersion(0L);
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(user()));
+
+        assertTrue(jwtService.isVersionCurrent(verified));
+        assertTrue(jwtService.isVersionCurrent(verified));
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), eq(1L));
+
+        storedVersion();
+        tokenVersionRegistry.evict(List.of(1L));
+
+        assertFalse(jwtService.isVersionCurrent(verified));
+    }
+}
@@ -0,0 +1,199 @@
+package com.management;
+
+import com.management.config.TokenVersionRegistry;
+import com.management.dto.event.CacheInvalidationEvent;
+import com.management.service.CacheInvalidationBus;
+import com.management.service.imp.KafkaCacheInvalidationBus;
+import com.management.service.imp.UserRolesCacheEvictor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class KafkaCacheInvalidationBusTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache profileCache;
+
+    @Mock
+    private UserRolesCacheEvictor userRolesCacheEvictor;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private KafkaTemplate<String, CacheInvalidationEvent> kafkaTemplate;
+
+    @Captor
+    private ArgumentCaptor<CacheInvalidationEvent> eventCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private KafkaCacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(cacheManager.getCache(CacheInvalidationBus.CURRENT_USER)).thenReturn(profileCache);
+        when(kafkaTemplate.send(anyString(), anyString(), any(CacheInvalidationEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        bus = new KafkaCacheInvalidationBus(cacheManager, userRolesCacheEvictor, tokenVersionRegistry,
+                kafkaTemplate, meterRegistry);
+        ReflectionTestUtils.setField(bus, "topic", "cache-invalidation");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private CacheInvalidationEvent published() {
+        verify(kafkaTemplate).send(eq("cache-invalidation"), eq(CacheInvalidationBus.CURRENT_USER), eventCaptor.capture());
+        return eventCaptor.getValue();
+    }
+
+    // =========================
+    // PUBLISHING NODE
+    // =========================
+    @Test
+    void evictAll_ShouldEvictAndPublish_OnlyAfterCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.evict(CacheInvalidationBus.CURRENT_USER, "john@gmail.com");
+
+        verifyNoInteractions(profileCache, kafkaTemplate);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+
+        verify(profileCache).evict("john@gmail.com");
+        assertEquals(List.of("john@gmail.com"), published().getKeys());
+    }
+
+    @Test
+    void evictAll_ShouldDoNothing_WhenTransactionRollsBack() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.evict(CacheInvalidationBus.CURRENT_USER, "john@gmail.com");
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(profileCache, kafkaTemplate);
+    }
+
+    @Test
+    void evictUsers_ShouldEvictL2BeforeProfile_AndPublishUserIds() {
+
+        bus.evictUsers(List.of(1L, 2L), List.of("one@gmail.com", "two@gmail.com"));
+
+        InOrder order = inOrder(userRolesCacheEvictor, tokenVersionRegistry, profileCache);
+        order.verify(userRolesCacheEvictor).evictAll(List.of(1L, 2L));
+        order.verify(tokenVersionRegistry).evict(List.of(1L, 2L));
+        order.verify(profileCache).evict("one@gmail.com");
+        order.verify(profileCache).evict("two@gmail.com");
+
+        CacheInvalidationEvent event = published();
+        assertEquals(List.of("one@gmail.com", "two@gmail.com"), event.getKeys());
+        assertEquals(List.of(1L, 2L), event.getUserIds());
+        assertNotNull(event.getOrigin());
+    }
+
+    @Test
+    void evictUsers_ShouldEvictTokenVersions_OnlyAfterCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.evictUsers(List.of(1L), List.of("one@gmail.com"));
+
+        // Evicted before commit, a concurrent request would re-cache the old version
+        verifyNoInteractions(tokenVersionRegistry, kafkaTemplate);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+
+        verify(tokenVersionRegistry).evict(List.of(1L));
+        assertEquals(List.of(1L), published().getUserIds());
+    }
+
+    @Test
+    void evictAll_ShouldCountFailure_WhenSendFails() {
+
+        when(kafkaTemplate.send(anyString(), anyString(), any(CacheInvalidationEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        bus.evict(CacheInvalidationBus.CURRENT_USER, "john@gmail.com");
+
+        // Local eviction still happened; other nodes fall back to the TTL
+        verify(profileCache).evict("john@gmail.com");
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.publish.failures").counter().count());
+    }
+
+    // =========================
+    // RECEIVING NODE
+    // =========================
+    @Test
+    void onInvalidation_ShouldSkipOwnMessages() {
+
+        bus.evictUsers(List.of(1L), List.of("one@gmail.com"));
+        CacheInvalidationEvent own = published();
+        clearInvocations(userRolesCacheEvictor, tokenVersionRegistry, profileCache);
+
+        bus.onInvalidation(own);
+
+        verifyNoInteractions(userRolesCacheEvictor, tokenVersionRegistry, profileCache);
+        assertEquals(0.0, meterRegistry.get("cache.invalidation.received").counter().count());
+    }
+
+    @Test
+    void onInvalidation_ShouldEvictL2AndTokenVersionsThenProfile_FromOtherNode() {
+
+        bus.onInvalidation(CacheInvalidationEvent.builder()
+                .cacheName(CacheInvalidationBus.CURRENT_USER)
+                .keys(List.of("one@gmail.com"))
+                .userIds(List.of(1L))
+                .origin("other-node")
+                .build());
+
+        InOrder order = inOrder(userRolesCacheEvictor, tokenVersionRegistry, profileCache);
+        order.verify(userRolesCacheEvictor).evictAll(List.of(1L));
+        // The role change is enforced here too: the next request reloads profile_version
+        order.verify(tokenVersionRegistry).evict(List.of(1L));
+        order.verify(profileCache).evict("one@gmail.com");
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.received").counter().count());
+    }
+
+    @Test
+    void onInvalidation_ShouldOnlyEvictProfile_WhenNoUserIds() {
+
+        bus.onInvalidation(CacheInvalidationEvent.builder()
+                .cacheName(CacheInvalidationBus.CURRENT_USER)
+                .keys(List.of("one@gmail.com"))
+                .origin("other-node")
+                .build());
+
+        verify(profileCache).evict("one@gmail.com");
+        verifyNoInteractions(userRolesCacheEvictor, tokenVersionRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.management;
+
+import com.management.consumer.KeyOrderedExecutor;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedExecutorTest {
+
+    private KeyOrderedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new KeyOrderedExecutor(4, "test-lane-");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void submit_ShouldPreserveOrder_PerKey() {
+
+        Map<String, List<Integer>> seen = Collections.synchronizedMap(new HashMap<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "user" + (i % 7) + "@gmail.com";
+            int sequence = i;
+            futures.add(executor.submit(key, () ->
+                    seen.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(sequence)));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertEquals(7, seen.size());
+        seen.values().forEach(sequence -> {
+            List<Integer> sorted = new ArrayList<>(sequence);
+            Collections.sort(sorted);
+            assertEquals(sorted, sequence);
+        });
+    }
+
+    @Test
+    void submit_ShouldRunOnVirtualThreads_WhenEnabled() throws InterruptedException {
+
+        KeyOrderedExecutor virtual = new KeyOrderedExecutor(2, "virtual-lane-", true);
+        try {
+            boolean[] isVirtual = new boolean[1];
+            virtual.submit("user@gmail.com", () -> isVirtual[0] = Thread.currentThread().isVirtual())
+                    .join();
+
+            assertTrue(isVirtual[0]);
+        } finally {
+            virtual.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+}
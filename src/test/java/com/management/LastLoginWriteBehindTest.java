@@ -0,0 +1,90 @@
+package com.management;
+
+import com.management.service.imp.LastLoginWriteBehind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LastLoginWriteBehindTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchCaptor;
+
+    private LastLoginWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        writeBehind = new LastLoginWriteBehind(jdbcTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writeBehind, "flushIntervalMs", 60000L);
+        ReflectionTestUtils.setField(writeBehind, "maxBatch", 1000);
+        ReflectionTestUtils.invokeMethod(writeBehind, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(writeBehind, "shutdown");
+    }
+
+    // =========================
+    // COALESCE PER USER
+    // =========================
+    @Test
+    void flush_ShouldWriteOnlyLatestTimestamp_PerUser() {
+
+        LocalDateTime first = LocalDateTime.of(2026, 1, 1, 10, 0);
+        LocalDateTime latest = first.plusMinutes(5);
+
+        writeBehind.record(1L, first);
+        writeBehind.record(1L, latest);
+        writeBehind.record(2L, first);
+
+        assertEquals(2, writeBehind.pendingCount());
+
+        int written = ReflectionTestUtils.invokeMethod(writeBehind, "flush");
+
+        assertEquals(2, written);
+        assertEquals(0, writeBehind.pendingCount());
+
+        verify(jdbcTemplate).batchUpdate(anyString(), batchCaptor.capture());
+
+        Object[] user1 = batchCaptor.getValue().stream()
+                .filter(row -> row[1].equals(1L))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(Timestamp.valueOf(latest), user1[0]);
+    }
+
+    // =========================
+    // FAILED FLUSH IS RETRIED
+    // =========================
+    @Test
+    void flush_ShouldKeepEntries_WhenBatchFails() {
+
+        writeBehind.record(1L, LocalDateTime.now());
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new RuntimeException("db down"));
+
+        assertThrows(RuntimeException.class,
+                () -> ReflectionTestUtils.invokeMethod(writeBehind, "flush"));
+
+        assertEquals(1, writeBehind.pendingCount());
+
+        reset(jdbcTemplate);
+    }
+}
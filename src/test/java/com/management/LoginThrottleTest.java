@@ -0,0 +1,174 @@
+package com.management;
+
+import com.management.exception.TooManyRequestsException;
+import com.management.service.imp.LoginThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = new LoginThrottle(meterRegistry);
+        ReflectionTestUtils.setField(throttle, "enabled", true);
+        ReflectionTestUtils.setField(throttle, "emailMaxFailures", 3);
+        ReflectionTestUtils.setField(throttle, "emailWindowSeconds", 3600L);
+        ReflectionTestUtils.setField(throttle, "ipMaxFailures", 5);
+        ReflectionTestUtils.setField(throttle, "ipWindowSeconds", 3600L);
+        ReflectionTestUtils.setField(throttle, "maxKeys", 1000L);
+        ReflectionTestUtils.invokeMethod(throttle, "init");
+    }
+
+    // =========================
+    // PER EMAIL
+    // =========================
+    @Test
+    void checkAllowed_ShouldReject_WhenEmailOverBudget() {
+
+        // Failed attempts: counted on the way in, never settled
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed(i == 0 ? "Victim@Gmail.com" : "victim@gmail.com", "10.0.0." + i);
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("victim@gmail.com", "10.0.0.99"));
+
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled")
+                .tag("scope", "email").counter().count());
+
+        // Other accounts are unaffected
+        assertDoesNotThrow(() -> throttle.checkAllowed("other@gmail.com", "10.0.0.99"));
+    }
+
+    @Test
+    void checkAllowed_ShouldLetOnlyBudgetThrough_WhenGuessesRunConcurrently() throws Exception {
+
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        try {
+            List<Future<?>> guesses = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String ip = "10.0.1." + i;
+                guesses.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        throttle.checkAllowed("victim@gmail.com", ip);
+                        allowed.incrementAndGet();
+                    } catch (TooManyRequestsException ignored) {
+                        // over budget
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> guess : guesses) {
+                guess.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // None has failed yet, but each one already counts
+        assertEquals(3, allowed.get());
+    }
+
+    @Test
+    void succeeded_ShouldClearEmailWindow() {
+
+        throttle.checkAllowed("user@gmail.com", "10.0.0.1");
+        throttle.checkAllowed("user@gmail.com", "10.0.0.1");
+
+        throttle.checkAllowed("user@gmail.com", "10.0.0.1").succeeded();
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("user@gmail.com", "10.0.0.2"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("user@gmail.com", "10.0.0.2"));
+    }
+
+    @Test
+    void refund_ShouldGiveAttemptBack() {
+
+        // Server-side failures (e.g. busy) do not eat the budget
+        for (int i = 0; i < 10; i++) {
+            throttle.checkAllowed("user@gmail.com", "10.0.0.1").refund();
+        }
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("user@gmail.com", "10.0.0.1"));
+    }
+
+    // =========================
+    // PER IP
+    // =========================
+    @Test
+    void checkAllowed_ShouldReject_WhenIpSpraysManyAccounts() {
+
+        for (int i = 0; i < 5; i++) {
+            throttle.checkAllowed("user" + i + "@gmail.com", "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("fresh@gmail.com", "10.0.0.1"));
+
+        // Rejected by IP before the email map was touched
+        assertEquals(5.0, meterRegistry.get("auth.login.throttle.keys")
+                .tag("scope", "email").gauge().value());
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("fresh@gmail.com", "10.0.0.2"));
+    }
+
+    @Test
+    void succeeded_ShouldOnlyRefundIpAttempt() {
+
+        for (int i = 0; i < 4; i++) {
+            throttle.checkAllowed("user" + i + "@gmail.com", "10.0.0.1");
+        }
+
+        // Success gives back its own slot only: the 4 failures still count
+        throttle.checkAllowed("owner@gmail.com", "10.0.0.1").succeeded();
+        throttle.checkAllowed("user4@gmail.com", "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("user5@gmail.com", "10.0.0.1"));
+    }
+
+    @Test
+    void checkAllowed_ShouldNotCountEmail_WhenRejectedByIp() {
+
+        for (int i = 0; i < 5; i++) {
+            throttle.checkAllowed("user" + i + "@gmail.com", "10.0.0.1");
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThrows(TooManyRequestsException.class,
+                    () -> throttle.checkAllowed("victim@gmail.com", "10.0.0.1"));
+        }
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("victim@gmail.com", "10.0.0.2"));
+    }
+
+    @Test
+    void checkAllowed_ShouldDoNothing_WhenDisabled() {
+
+        ReflectionTestUtils.setField(throttle, "enabled", false);
+
+        for (int i = 0; i < 10; i++) {
+            throttle.checkAllowed("user@gmail.com", "10.0.0.1");
+        }
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("user@gmail.com", "10.0.0.1").succeeded());
+    }
+}
@@ -0,0 +1,89 @@
+package com.management;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.config.KafkaProducerConfig;
+import com.management.dto.event.UserEvent;
+import com.management.service.imp.OutboxEventPublisher;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxEventPublisherTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchCaptor;
+
+    private final ObjectMapper objectMapper = new KafkaProducerConfig().kafkaObjectMapper();
+
+    private OutboxEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        publisher = new OutboxEventPublisher(jdbcTemplate, objectMapper);
+    }
+
+    private UserEvent event(long userId, String email) {
+        return UserEvent.builder()
+                .userId(userId)
+                .email(email)
+                .eventType("REGISTERED")
+                .timestamp(LocalDateTime.of(2026, 1, 1, 12, 0))
+                .build();
+    }
+
+    @Test
+    void publish_ShouldInsertRow_KeyedByEmail_WithJsonPayload() throws Exception {
+
+        UserEvent event = event(1L, "john@gmail.com");
+
+        publisher.publish(event);
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO outbox_events"), args.capture());
+
+        Object[] row = args.getValue();
+        assertEquals("john@gmail.com", row[0]);
+        assertEquals("REGISTERED", row[1]);
+        assertEquals(event, objectMapper.readValue((String) row[2], UserEvent.class));
+    }
+
+    @Test
+    void publishAll_ShouldInsertEveryEvent_InOneBatch() throws Exception {
+
+        publisher.publishAll(List.of(event(1L, "a@gmail.com"), event(2L, "b@gmail.com")));
+
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO outbox_events"), batchCaptor.capture());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+
+        List<Object[]> rows = batchCaptor.getValue();
+        assertEquals(2, rows.size());
+        assertEquals("a@gmail.com", rows.get(0)[0]);
+        assertEquals("b@gmail.com", rows.get(1)[0]);
+        assertEquals(2L, objectMapper.readValue((String) rows.get(1)[2], UserEvent.class).getUserId());
+        // One created_at for the whole chunk
+        assertSame(rows.get(0)[3], rows.get(1)[3]);
+    }
+
+    @Test
+    void publish_ShouldThrow_AndInsertNothing_WhenEventCannotBeSerialized() throws Exception {
+
+        ObjectMapper failing = mock(ObjectMapper.class);
+        when(failing.writeValueAsString(any())).thenThrow(new JsonProcessingException("boom") { });
+        publisher = new OutboxEventPublisher(jdbcTemplate, failing);
+
+        assertThrows(IllegalStateException.class, () -> publisher.publish(event(1L, "john@gmail.com")));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
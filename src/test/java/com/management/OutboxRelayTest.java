@@ -0,0 +1,163 @@
+package com.management;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.config.KafkaProducerConfig;
+import com.management.dto.event.UserEvent;
+import com.management.service.imp.OutboxRelay;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private KafkaTemplate<String, UserEvent> kafkaTemplate;
+
+    private final ObjectMapper objectMapper = new KafkaProducerConfig().kafkaObjectMapper();
+
+    private OutboxRelay relay;
+
+    // Rows returned by the claim query: id -> {key, payload}
+    private final Map<Long, String[]> pending = new LinkedHashMap<>();
+
+    // Every UPDATE issued: the SQL followed by its bind values
+    private final List<List<Object>> updates = new ArrayList<>();
+
+    // Event ids (userId) whose send fails
+    private final Set<Long> failing = new HashSet<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            for (Map.Entry<Long, String[]> entry : pending.entrySet()) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn(entry.getKey());
+                when(rs.getString("event_key")).thenReturn(entry.getValue()[0]);
+                when(rs.getString("payload")).thenReturn(entry.getValue()[1]);
+                rows.add(mapper.mapRow(rs, rows.size()));
+            }
+            return rows;
+        });
+
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            updates.add(Arrays.asList(invocation.getArguments()));
+            return invocation.getArguments().length - 2;
+        });
+
+        when(kafkaTemplate.send(anyString(), any(), any(UserEvent.class))).thenAnswer(invocation -> {
+            UserEvent event = invocation.getArgument(2);
+            return failing.contains(event.getUserId())
+                    ? CompletableFuture.failedFuture(new IllegalStateException("broker down"))
+                    : CompletableFuture.completedFuture(null);
+        });
+
+        relay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager),
+                kafkaTemplate, objectMapper);
+        ReflectionTestUtils.setField(relay, "batchSize", 500);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(relay, "claimLeaseMs", 60_000L);
+    }
+
+    private void addPending(long id, String key) throws Exception {
+        UserEvent event = UserEvent.builder().userId(id).email(key).eventType("LOGIN").build();
+        pending.put(id, new String[]{key, objectMapper.writeValueAsString(event)});
+    }
+
+    private List<Object> update(String column) {
+        return updates.stream()
+                .filter(update -> ((String) update.get(0)).contains("SET " + column))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void relayBatch_ShouldCommitClaim_BeforeSending_ThenMarkDelivered() throws Exception {
+
+        addPending(1L, "a@gmail.com");
+        addPending(2L, "b@gmail.com");
+
+        int relayed = ReflectionTestUtils.invokeMethod(relay, "relayBatch");
+
+        assertEquals(2, relayed);
+
+        // Claim transaction is committed before the first send, marking runs in a second one
+        InOrder order = inOrder(jdbcTemplate, transactionManager, kafkaTemplate);
+        order.verify(jdbcTemplate).update(startsWith("UPDATE outbox_events SET claimed_until"), any(Object[].class));
+        order.verify(transactionManager).commit(any());
+        order.verify(kafkaTemplate, times(2)).send(anyString(), any(), any(UserEvent.class));
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(jdbcTemplate).update(startsWith("UPDATE outbox_events SET processed_at"), any(Object[].class));
+        order.verify(transactionManager).commit(any());
+
+        assertEquals(List.of(1L, 2L), update("processed_at").subList(2, 4));
+    }
+
+    @Test
+    void relayBatch_ShouldStopAtFirstFailurePerKey_AndReleaseTheRest() throws Exception {
+
+        addPending(1L, "a@gmail.com");
+        addPending(2L, "b@gmail.com");
+        addPending(3L, "a@gmail.com");
+        addPending(4L, "b@gmail.com");
+        failing.add(1L);
+
+        int relayed = ReflectionTestUtils.invokeMethod(relay, "relayBatch");
+
+        assertEquals(2, relayed);
+
+        // 3 was acked but comes after the failed 1 for the same key, so it is not marked
+        assertEquals(List.of(2L, 4L), update("processed_at").subList(2, 4));
+
+        List<Object> released = updates.get(updates.size() - 1);
+        assertTrue(((String) released.get(0)).startsWith("UPDATE outbox_events SET claimed_until"));
+        assertArrayEquals(new Object[]{null, 1L, 3L}, released.subList(1, 4).toArray());
+    }
+
+    @Test
+    void relayBatch_ShouldRetireCorruptPayload_WithoutSending() throws Exception {
+
+        pending.put(1L, new String[]{"a@gmail.com", "{not json"});
+        addPending(2L, "a@gmail.com");
+
+        int relayed = ReflectionTestUtils.invokeMethod(relay, "relayBatch");
+
+        assertEquals(2, relayed);
+        verify(kafkaTemplate, times(1)).send(anyString(), any(), any(UserEvent.class));
+        assertEquals(List.of(1L, 2L), update("processed_at").subList(2, 4));
+    }
+
+    @Test
+    void relayBatch_ShouldDoNothing_WhenNothingPending() {
+
+        int relayed = ReflectionTestUtils.invokeMethod(relay, "relayBatch");
+
+        assertEquals(0, relayed);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verify(kafkaTemplate, never()).send(anyString(), any(), any(UserEvent.class));
+        verify(transactionManager, times(1)).commit(any());
+    }
+}
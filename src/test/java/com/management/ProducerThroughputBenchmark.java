@@ -0,0 +1,123 @@
+package com.management;
+
+import com.management.config.KafkaProducerConfig;
+import com.management.dto.event.UserEvent;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.testcontainers.kafka.ConfluentKafkaContainer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Events/sec on the user-events topic: default producer vs. the "throughput" profile.
+ * Needs Docker; not part of the normal test run (name doesn't match *Test).
+ * Run with: mvn test -Dtest=ProducerThroughputBenchmark
+ */
+class ProducerThroughputBenchmark {
+
+    private static final String TOPIC = "user-events";
+    private static final int WARMUP_EVENTS = 20_000;
+    private static final int EVENTS = 200_000;
+
+    @Test
+    void compareDefaultAndThroughputProducer() throws IOException {
+
+        try (ConfluentKafkaContainer kafka =
+                     new ConfluentKafkaContainer("confluentinc/cp-kafka:7.6.0")) {
+
+            kafka.start();
+
+            double baseline = eventsPerSecond(producerConfig(false, kafka.getBootstrapServers()));
+            double tuned = eventsPerSecond(producerConfig(true, kafka.getBootstrapServers()));
+
+            System.out.printf("%n[user-events] default producer    : %,.0f events/s%n", baseline);
+            System.out.printf("[user-events] throughput profile : %,.0f events/s (x%.2f)%n%n",
+                    tuned, tuned / baseline);
+
+            assertTrue(baseline > 0 && tuned > 0);
+        }
+    }
+
+    // Producer config exactly as Spring Boot would build it for the given profile
+    private Map<String, Object> producerConfig(boolean throughputProfile, String bootstrapServers)
+            throws IOException {
+
+        StandardEnvironment environment = new StandardEnvironment();
+
+        environment.getPropertySources().addLast(new PropertiesPropertySource("application",
+                PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))));
+
+        if (throughputProfile) {
+            environment.getPropertySources().addFirst(new PropertiesPropertySource("throughput",
+                    PropertiesLoaderUtils.loadProperties(
+                            new ClassPathResource("application-throughput.properties"))));
+        }
+
+        KafkaProperties kafkaProperties = Binder.get(environment)
+                .bind("spring.kafka", KafkaProperties.class)
+                .orElseGet(KafkaProperties::new);
+
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        return config;
+    }
+
+    private double eventsPerSecond(Map<String, Object> config) {
+
+        JsonSerializer<UserEvent> valueSerializer =
+                new JsonSerializer<>(new KafkaProducerConfig().kafkaObjectMapper());
+        valueSerializer.setAddTypeInfo(false);
+
+        try (KafkaProducer<String, UserEvent> producer =
+                     new KafkaProducer<>(config, new StringSerializer(), valueSerializer)) {
+
+            send(producer, WARMUP_EVENTS);
+
+            long start = System.nanoTime();
+            long failures = send(producer, EVENTS);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            assertEquals(0, failures, "events not acknowledged");
+            return EVENTS / seconds;
+        }
+    }
+
+    private long send(KafkaProducer<String, UserEvent> producer, int count) {
+
+        AtomicLong failures = new AtomicLong();
+
+        for (int i = 0; i < count; i++) {
+            String email = "user" + (i % 10_000) + "@gmail.com";
+            UserEvent event = UserEvent.builder()
+                    .userId((long) i)
+                    .email(email)
+                    .eventType(i % 10 == 0 ? "REGISTERED" : "LOGIN")
+                    .timestamp(LocalDateTime.now())
+                    .build();
+
+            producer.send(new ProducerRecord<>(TOPIC, email, event), (metadata, ex) -> {
+                if (ex != null) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+
+        producer.flush();
+        return failures.get();
+    }
+}
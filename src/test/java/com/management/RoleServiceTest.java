@@ -1,19 +1,28 @@
 package com.management;
 
+import com.management.dto.request.BulkRoleRequest;
+import com.management.dto.response.BulkRoleResponse;
 import com.management.entity.Role;
-import com.management.entity.User;
 import com.management.exception.*;
 import com.management.repository.RoleRepository;
 import com.management.repository.UserRepository;
 import com.management.service.AuditService;
+import com.management.service.CacheInvalidationBus;
 import com.management.service.RoleService;
 import com.management.service.imp.AuditServiceImpl;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.ResultSet;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class RoleServiceTest {
@@ -27,12 +36,27 @@ class RoleServiceTest {
     @Mock
     private AuditServiceImpl auditService;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private RoleService roleService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+
+        // Run transactional blocks inline
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation
+                        .<TransactionCallback<?>>getArgument(0)
+                        .doInTransaction(null));
     }
 
     // =========================
@@ -68,26 +92,29 @@ class RoleServiceTest {
     @Test
     void assignRole_ShouldAssignRole_WhenValid() {
 
-        User user = User.builder()
-                .id(1L)
-                .roles(new HashSet<>())
-                .build();
-
         Role role = Role.builder()
+                .id(2L)
                 .name("ROLE_ADMIN")
                 .build();
 
-        when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
-
         when(roleRepository.findByName("ROLE_ADMIN"))
                 .thenReturn(Optional.of(role));
 
+        when(jdbcTemplate.update(startsWith("INSERT IGNORE"), eq(1L), eq(2L)))
+                .thenReturn(1);
+
+        when(jdbcTemplate.queryForObject(startsWith("SELECT email"), eq(String.class), eq(1L)))
+                .thenReturn("test@gmail.com");
+
         roleService.assignRole(1L, "ADMIN");
 
-        verify(userRepository).save(user);
+        // Single INSERT — no load/merge of the user
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).save(any());
         verify(auditService)
                 .log("ROLE_ASSIGNED:ROLE_ADMIN", 1L);
+        verify(jdbcTemplate).update(startsWith("UPDATE users SET profile_version"), eq(1L));
+        verify(cacheInvalidationBus).evictUsers(List.of(1L), List.of("test@gmail.com"));
     }
 
     // =========================
@@ -96,20 +123,192 @@ class RoleServiceTest {
     @Test
     void assignRole_ShouldThrowException_WhenAlreadyAssigned() {
 
-        Role role = Role.builder().name("ROLE_ADMIN").build();
-
-        User user = User.builder()
-                .id(1L)
-                .roles(new HashSet<>(Set.of(role)))
-                .build();
-
-        when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
+        Role role = Role.builder().id(2L).name("ROLE_ADMIN").build();
 
         when(roleRepository.findByName("ROLE_ADMIN"))
                 .thenReturn(Optional.of(role));
 
+        when(jdbcTemplate.update(startsWith("INSERT IGNORE"), eq(1L), eq(2L)))
+                .thenReturn(0);
+
+        when(userRepository.existsById(1L))
+                .thenReturn(true);
+
         assertThrows(RoleAlreadyAssignedException.class,
                 () -> roleService.assignRole(1L, "ADMIN"));
+
+        verify(cacheInvalidationBus, never()).evictUsers(any(), any());
+    }
+
+    @Test
+    void assignRole_ShouldThrowException_WhenUserNotFound() {
+
+        Role role = Role.builder().id(2L).name("ROLE_ADMIN").build();
+
+        when(roleRepository.findByName("ROLE_ADMIN"))
+                .thenReturn(Optional.of(role));
+
+        when(jdbcTemplate.update(startsWith("INSERT IGNORE"), eq(99L), eq(2L)))
+                .thenReturn(0);
+
+        when(userRepository.existsById(99L))
+                .thenReturn(false);
+
+        assertThrows(UserNotFoundException.class,
+                () -> roleService.assignRole(99L, "ADMIN"));
+    }
+
+    // =========================
+    // BULK ASSIGN
+    // =========================
+    @Test
+    void bulkAssign_ShouldInsertOnlyMissingRoles_AndBumpChangedUsers() throws Exception {
+
+        when(roleRepository.findByName("ROLE_ADMIN"))
+                .thenReturn(Optional.of(Role.builder().id(2L).name("ROLE_ADMIN").build()));
+
+        // Of 1, 2, 3: user 2 already has the role
+        ResultSet rows = mock(ResultSet.class);
+        when(rows.getLong("id")).thenReturn(1L, 3L);
+        when(rows.getString("email")).thenReturn("one@gmail.com", "three@gmail.com");
+
+        when(jdbcTemplate.query(startsWith("SELECT u.id, u.email FROM users u"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<?> mapper = invocation.getArgument(1);
+                    return List.of(mapper.mapRow(rows, 0), mapper.mapRow(rows, 1));
+                });
+
+        BulkRoleRequest request = new BulkRoleRequest();
+        request.setRoleName("ADMIN");
+        request.setUserIds(List.of(1L, 2L, 3L, 3L));
+
+        BulkRoleResponse response = roleService.bulkAssign(request);
+
+        assertEquals(3, response.getRequested());
+        assertEquals(2, response.getChanged());
+
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT IGNORE INTO user_roles"), anyList());
+        verify(jdbcTemplate).update(startsWith("UPDATE users SET profile_version"), eq(1L), eq(3L));
+        verify(cacheInvalidationBus).evictUsers(List.of(1L, 3L),
+                List.of("one@gmail.com", "three@gmail.com"));
+        verify(auditService, times(2)).log(eq("ROLE_ASSIGNED:ROLE_ADMIN"), anyLong());
+    }
+
+    // =========================
+    // BULK REVOKE
+    // =========================
+    @Test
+    void bulkRevoke_ShouldDeleteChunk_AndTouchOnlyUsersThatHadTheRole() throws Exception {
+
+        when(roleRepository.findByName("ROLE_ADMIN"))
+                .thenReturn(Optional.of(Role.builder().id(2L).name("ROLE_ADMIN").build()));
+
+        // Of 1 and 2: only user 2 has the role
+        ResultSet rows = mock(ResultSet.class);
+        when(rows.getLong("id")).thenReturn(2L);
+        when(rows.getString("email")).thenReturn("two@gmail.com");
+
+        when(jdbcTemplate.query(startsWith("SELECT u.id, u.email FROM user_roles ur"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<?> mapper = invocation.getArgument(1);
+                    return List.of(mapper.mapRow(rows, 0));
+                });
+
+        BulkRoleRequest request = new BulkRoleRequest();
+        request.setRoleName("ADMIN");
+        request.setUserIds(List.of(1L, 2L));
+
+        BulkRoleResponse response = roleService.bulkRevoke(request);
+
+        assertEquals(2, response.getRequested());
+        assertEquals(1, response.getChanged());
+
+        verify(jdbcTemplate).update(startsWith("DELETE FROM user_roles"), eq(2L), eq(1L), eq(2L));
+        verify(jdbcTemplate).update(startsWith("UPDATE users SET profile_version"), eq(2L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(cacheInvalidationBus).evictUsers(List.of(2L), List.of("two@gmail.com"));
+        verify(auditService).log("ROLE_REVOKED:ROLE_ADMIN", 2L);
+    }
+
+    @Test
+    void bulkRevoke_ShouldSkipWrites_WhenNobodyHasTheRole() {
+
+        when(roleRepository.findByName("ROLE_ADMIN"))
+                .thenReturn(Optional.of(Role.builder().id(2L).name("ROLE_ADMIN").build()));
+
+        when(jdbcTemplate.query(startsWith("SELECT u.id, u.email FROM user_roles ur"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of());
+
+        BulkRoleRequest request = new BulkRoleRequest();
+        request.setRoleName("ADMIN");
+        request.setUserIds(List.of(1L));
+
+        BulkRoleResponse response = roleService.bulkRevoke(request);
+
+        assertEquals(0, response.getChanged());
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(Object[].class));
+        verify(auditService, never()).log(anyString(), anyLong());
+    }
+
+    // =========================
+    // BULK BY EMAIL DOMAIN
+    // =========================
+    @Test
+    void bulkRevoke_ShouldPageMatchingIds_ByDomainSuffix() {
+
+        when(roleRepository.findByName("ROLE_ADMIN"))
+                .thenReturn(Optional.of(Role.builder().id(2L).name("ROLE_ADMIN").build()));
+
+        when(jdbcTemplate.queryForList(startsWith("SELECT id FROM users WHERE email LIKE"), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(1L, 3L), List.of());
+        when(jdbcTemplate.query(startsWith("SELECT u.id, u.email FROM user_roles ur"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of());
+
+        BulkRoleRequest request = new BulkRoleRequest();
+        request.setRoleName("ADMIN");
+        request.setEmailDomain(" Example-Corp.co.uk ");
+
+        BulkRoleResponse response = roleService.bulkRevoke(request);
+
+        assertEquals(2, response.getRequested());
+
+        // Keyset: the second page starts after the last id of the first
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq("%@Example-Corp.co.uk"), eq(0L), eq(1000));
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq("%@Example-Corp.co.uk"), eq(3L), eq(1000));
+    }
+
+    @Test
+    void bulkRevoke_ShouldReject_WhenDomainIsNotAHostname() {
+
+        for (String domain : List.of("%", "_", "%.com", "gmail.com%", "g_mail.com", "a\\b.com",
+                "gmail..com", "-gmail.com", "gmail.com'", "@gmail.com", "gmail com")) {
+
+            BulkRoleRequest request = new BulkRoleRequest();
+            request.setRoleName("ADMIN");
+            request.setEmailDomain(domain);
+
+            assertThrows(InvalidRequestException.class, () -> roleService.bulkRevoke(request), domain);
+        }
+
+        verify(roleRepository, never()).findByName(any());
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(Long.class), any(Object[].class));
+    }
+
+    @Test
+    void escapeLike_ShouldEscapeWildcardsAndBackslash() {
+
+        String escaped = ReflectionTestUtils.invokeMethod(RoleService.class, "escapeLike", "a%b_c\\d");
+
+        assertEquals("a\\%b\\_c\\\\d", escaped);
+    }
+
+    @Test
+    void bulkAssign_ShouldThrowException_WhenNoTargetGiven() {
+
+        BulkRoleRequest request = new BulkRoleRequest();
+        request.setRoleName("ADMIN");
+
+        assertThrows(InvalidRequestException.class,
+                () -> roleService.bulkAssign(request));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,159 @@
+package com.management;
+
+import com.management.dto.response.AuditLogPageResponse;
+import com.management.service.imp.SegmentAuditService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentAuditServiceTest {
+
+    // 300 records per segment, two index blocks each
+    private static final long SEGMENT_SIZE = 128 * 300;
+
+    @TempDir
+    Path directory;
+
+    private SegmentAuditService service;
+
+    @BeforeEach
+    void setUp() {
+        service = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+    }
+
+    private SegmentAuditService open() {
+        SegmentAuditService opened = new SegmentAuditService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(opened, "directory", directory.toString());
+        ReflectionTestUtils.setField(opened, "segmentSizeBytes", SEGMENT_SIZE);
+        ReflectionTestUtils.setField(opened, "fsyncIntervalMs", 60_000L);
+        ReflectionTestUtils.invokeMethod(opened, "start");
+        return opened;
+    }
+
+    private SegmentAuditService reopen() {
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+        service = open();
+        return service;
+    }
+
+    private List<Long> allIds(Long userId, String prefix) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            AuditLogPageResponse page = service.search(userId, prefix, null, null, 50, cursor);
+            page.getEntries().forEach(entry -> ids.add(entry.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    @Test
+    void search_ShouldPageUserRecords_NewestFirst_AcrossSegments() throws Exception {
+
+        for (long i = 1; i <= 1000; i++) {
+            service.log(i % 10 == 0 ? "LOGIN_FAILED" : "LOGIN", i % 4);
+        }
+
+        List<Long> ids = allIds(3L, null);
+
+        assertEquals(250, ids.size());
+        assertEquals(999L, ids.get(0));
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i) < ids.get(i - 1));
+            assertEquals(3, ids.get(i) % 4);
+        }
+        assertEquals(100, allIds(null, "LOGIN_F").size());
+
+        // 1000 records at 300 per segment
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(4, files.filter(file -> file.toString().endsWith(".seg")).count());
+        }
+    }
+
+    @Test
+    void start_ShouldReloadSealedSegments_AndContinueSequence() {
+
+        for (long i = 1; i <= 700; i++) {
+            service.log("LOGIN", 1L);
+        }
+
+        reopen();
+        service.log("REGISTERED", 2L);
+
+        assertEquals(List.of(701L), allIds(2L, null));
+        assertEquals(700, allIds(1L, null).size());
+    }
+
+    @Test
+    void start_ShouldCutTornTailRecord() throws Exception {
+
+        for (long i = 1; i <= 10; i++) {
+            service.log("LOGIN", 5L);
+        }
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+
+        // Damage the last record, as a crash mid-write would
+        try (RandomAccessFile file = new RandomAccessFile(
+                directory.resolve("00000000000000000001.seg").toFile(), "rw")) {
+            file.seek(9 * 128 + 40);
+            file.write(0x7F);
+        }
+
+        service = open();
+        assertEquals(9, allIds(5L, null).size());
+
+        // The torn slot is reused by the next record
+        service.log("LOGIN", 5L);
+        List<Long> ids = allIds(5L, null);
+        assertEquals(10, ids.size());
+        assertEquals(10L, ids.get(0));
+    }
+
+    @Test
+    void start_ShouldNotResurrectRecords_PastAGapInTheTail() throws Exception {
+
+        for (long i = 1; i <= 20; i++) {
+            service.log("LOGIN", 5L);
+        }
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+
+        // Record 10 torn and record 11 never reached the disk; 12..20 are intact
+        try (RandomAccessFile file = new RandomAccessFile(
+                directory.resolve("00000000000000000001.seg").toFile(), "rw")) {
+            file.seek(9 * 128 + 40);
+            file.write(0x7F);
+            file.seek(10 * 128);
+            file.write(new byte[128]);
+        }
+
+        service = open();
+        assertEquals(9, allIds(5L, null).size());
+
+        // Refill the gap: slots 9 and 10 get sequences 10 and 11 again
+        service.log("REGISTERED", 6L);
+        service.log("REGISTERED", 6L);
+
+        reopen();
+
+        // The stale 12..20 must stay gone, even though their sequences now follow on
+        assertEquals(9, allIds(5L, null).size());
+        assertEquals(List.of(11L, 10L), allIds(6L, null));
+        service.log("REGISTERED", 7L);
+        assertEquals(List.of(12L), allIds(7L, null));
+    }
+}
@@ -0,0 +1,96 @@
+package com.management;
+
+import com.management.config.AuthPrincipal;
+import com.management.config.AuthoritySets;
+import com.management.controller.UserController;
+import com.management.dto.response.UserProfileResponse;
+import com.management.service.UserService;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class UserControllerTest {
+
+    @Mock
+    private UserService userService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+
+        AuthPrincipal principal = new AuthPrincipal("john@gmail.com", "hash", AuthoritySets.of(List.of("ROLE_USER")));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void profileAtVersion(long version) {
+        when(userService.getCurrentUserProfile("john@gmail.com")).thenReturn(UserProfileResponse.builder()
+                .id(1L)
+                .username("john")
+                .email("john@gmail.com")
+                .roles(Set.of("ROLE_USER"))
+                .version(version)
+                .build());
+    }
+
+    @Test
+    void getCurrentUser_ShouldReturnProfileWithETag_WhenNoValidator() throws Exception {
+
+        profileAtVersion(3L);
+
+        mockMvc.perform(get("/api/users/me"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+                .andExpect(jsonPath("$.email").value("john@gmail.com"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void getCurrentUser_ShouldReturn304WithoutBody_WhenETagMatches() throws Exception {
+
+        profileAtVersion(3L);
+
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCurrentUser_ShouldReturnNewProfile_WhenVersionMovedOn() throws Exception {
+
+        // Role change bumped profile_version and evicted the cached profile
+        profileAtVersion(4L);
+
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andExpect(jsonPath("$.roles[0]").value("ROLE_USER"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.management;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.exception.InvalidRequestException;
+import com.management.service.UserExportService;
+import com.management.service.imp.UserExportServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private UserExportServiceImpl exportService;
+
+    private final LocalDateTime lastLogin = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        exportService = new UserExportServiceImpl(jdbcTemplate, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(exportService, "flushEvery", 1);
+
+        // Joined rows: user 1 with two roles, user 2 with none
+        when(resultSet.getLong("id")).thenReturn(1L, 1L, 2L);
+        when(resultSet.getString("username")).thenReturn("alice", "bob");
+        when(resultSet.getString("email")).thenReturn("alice@gmail.com", "bob,jr@gmail.com");
+        when(resultSet.getTimestamp("last_login")).thenReturn(Timestamp.valueOf(lastLogin), (Timestamp) null);
+        when(resultSet.getString("role_name")).thenReturn("ROLE_USER", "ROLE_ADMIN", null);
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) {
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    // =========================
+    // NDJSON
+    // =========================
+    @Test
+    void exportUsers_ShouldWriteOneJsonLinePerUser() {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.exportUsers(UserExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"username\":\"alice\",\"email\":\"alice@gmail.com\","
+                + "\"lastLogin\":\"2026-01-01T10:00\",\"roles\":[\"ROLE_USER\",\"ROLE_ADMIN\"]}", lines[0]);
+        assertEquals("{\"id\":2,\"username\":\"bob\",\"email\":\"bob,jr@gmail.com\","
+                + "\"lastLogin\":null,\"roles\":[]}", lines[1]);
+    }
+
+    // =========================
+    // CSV
+    // =========================
+    @Test
+    void exportUsers_ShouldWriteCsvWithHeaderAndEscaping() {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportUsers(UserExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("id,username,email,lastLogin,roles", lines[0]);
+        assertEquals("1,alice,alice@gmail.com,2026-01-01T10:00,ROLE_USER;ROLE_ADMIN", lines[1]);
+        assertEquals("2,bob,\"bob,jr@gmail.com\",,", lines[2]);
+    }
+
+    @Test
+    void format_ShouldRejectUnknownValue() {
+
+        assertEquals(UserExportService.Format.CSV, UserExportService.Format.from("csv"));
+        assertThrows(InvalidRequestException.class, () -> UserExportService.Format.from("xml"));
+    }
+}
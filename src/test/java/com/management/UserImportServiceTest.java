@@ -0,0 +1,170 @@
+package com.management;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.dto.event.UserEvent;
+import com.management.dto.response.ImportResultResponse;
+import com.management.entity.Role;
+import com.management.repository.RoleRepository;
+import com.management.repository.UserRepository;
+import com.management.service.AuditService;
+import com.management.service.EmailAvailabilityService;
+import com.management.service.EventPublisherService;
+import com.management.service.imp.UserImportServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private EventPublisherService eventPublisherService;
+
+    @Mock
+    private EmailAvailabilityService emailAvailabilityService;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<UserEvent>> eventsCaptor;
+
+    private UserImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        importService = new UserImportServiceImpl(userRepository, roleRepository, passwordEncoder,
+                jdbcTemplate, transactionTemplate, auditService, eventPublisherService,
+                emailAvailabilityService, new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(importService, "chunkSize", 1000);
+        ReflectionTestUtils.setField(importService, "hashingParallelism", 2);
+        ReflectionTestUtils.invokeMethod(importService, "start");
+
+        // Run transactional blocks inline
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        when(roleRepository.findByName("ROLE_USER"))
+                .thenReturn(Optional.of(new Role(1L, "ROLE_USER")));
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(importService, "shutdown");
+    }
+
+    @Test
+    void importUsers_ShouldBatchInsertNewUsers_AndSkipDuplicatesAndInvalidLines() throws Exception {
+
+        String body = String.join("\n",
+                "{\"username\":\"alice\",\"email\":\"alice@gmail.com\",\"password\":\"secret1\"}",
+                "{\"username\":\"bob\",\"email\":\"bob@gmail.com\",\"password\":\"secret2\"}",
+                "{\"username\":\"bob2\",\"email\":\"BOB@gmail.com\",\"password\":\"secret3\"}",
+                "{\"username\":\"old\",\"email\":\"old@gmail.com\",\"password\":\"secret4\"}",
+                "{\"username\":\"x\",\"email\":\"not-an-email\",\"password\":\"secret5\"}",
+                "not json");
+
+        when(userRepository.findExistingEmails(anyCollection()))
+                .thenReturn(List.of("old@gmail.com"));
+
+        // ids read back after the users batch
+        when(resultSet.getString("email")).thenReturn("alice@gmail.com", "bob@gmail.com");
+        when(resultSet.getLong("id")).thenReturn(10L, 11L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        ImportResultResponse result = importService.importUsers(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(6, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(2, result.getInvalid());
+
+        // BCrypt only for rows that are actually inserted
+        verify(passwordEncoder, times(2)).encode(anyString());
+
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO users"), batchCaptor.capture());
+        assertEquals(2, batchCaptor.getValue().size());
+
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO user_roles"), batchCaptor.capture());
+        assertArrayEquals(new Object[]{10L, 1L}, batchCaptor.getValue().get(0));
+        assertArrayEquals(new Object[]{11L, 1L}, batchCaptor.getValue().get(1));
+
+        verify(eventPublisherService).publishAll(eventsCaptor.capture());
+        assertEquals(2, eventsCaptor.getValue().size());
+        assertEquals("REGISTERED", eventsCaptor.getValue().get(0).getEventType());
+
+        verify(auditService, times(2)).log(eq("REGISTERED"), anyLong());
+
+        // Inserted rows only, once the chunk transaction is done
+        InOrder order = inOrder(transactionTemplate, emailAvailabilityService);
+        order.verify(transactionTemplate).executeWithoutResult(any());
+        order.verify(emailAvailabilityService).markTaken("alice@gmail.com");
+        order.verify(emailAvailabilityService).markTaken("bob@gmail.com");
+        verifyNoMoreInteractions(emailAvailabilityService);
+    }
+
+    @Test
+    void importUsers_ShouldNotMarkEmails_WhenChunkTransactionFails() {
+
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        doThrow(new IllegalStateException("connection lost"))
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        String body = "{\"username\":\"alice\",\"email\":\"alice@gmail.com\",\"password\":\"secret1\"}";
+
+        assertThrows(IllegalStateException.class, () -> importService.importUsers(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))));
+
+        verifyNoInteractions(emailAvailabilityService);
+    }
+}
@@ -0,0 +1,85 @@
+package com.management;
+
+import com.management.entity.User;
+import com.management.service.imp.UserRolesCacheEvictor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class UserRolesCacheEvictorTest {
+
+    private static final String USER_ROLES = User.class.getName() + ".roles";
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private jakarta.persistence.Cache jpaCache;
+
+    @Mock
+    private Cache cache;
+
+    private UserRolesCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+        when(jpaCache.unwrap(Cache.class)).thenReturn(cache);
+        evictor = new UserRolesCacheEvictor(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evict_ShouldEvictRightAway_WhenNoTransaction() {
+
+        evictor.evict(1L);
+
+        verify(cache).evictEntityData(User.class, 1L);
+        verify(cache).evictCollectionData(USER_ROLES, 1L);
+    }
+
+    @Test
+    void evictAll_ShouldWaitForCommit_WhenInTransaction() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        evictor.evictAll(List.of(1L, 2L));
+
+        verifyNoInteractions(cache);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+
+        verify(cache).evictEntityData(User.class, 1L);
+        verify(cache).evictEntityData(User.class, 2L);
+        verify(cache).evictCollectionData(USER_ROLES, 1L);
+        verify(cache).evictCollectionData(USER_ROLES, 2L);
+    }
+
+    @Test
+    void evict_ShouldDoNothing_WhenTransactionRollsBack() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        evictor.evict(1L);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(cache);
+    }
+}
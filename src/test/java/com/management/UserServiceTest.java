@@ -1,19 +1,27 @@
 package com.management;
 
+import com.management.config.AuthPrincipal;
 import com.management.dto.response.UserProfileResponse;
 import com.management.entity.User;
 import com.management.exception.ResourceNotFoundException;
 import com.management.mapper.UserMapper;
+import com.management.repository.AuthRow;
 import com.management.repository.UserRepository;
+import com.management.service.CacheInvalidationBus;
+import com.management.service.imp.LastLoginWriteBehind;
 import com.management.service.imp.UserServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +33,12 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private LastLoginWriteBehind lastLoginWriteBehind;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -64,4 +78,77 @@ class UserServiceTest {
         assertThrows(ResourceNotFoundException.class,
                 () -> userService.getCurrentUserProfile("test@gmail.com"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadUserByUsername_ShouldBuildPrincipalFromJoinedRows() {
+
+        when(userRepository.findAuthRowsByEmail("test@gmail.com"))
+                .thenReturn(List.of(
+                        new AuthRow("test@gmail.com", "hash", "ROLE_USER"),
+                        new AuthRow("test@gmail.com", "hash", "ROLE_ADMIN")));
+
+        UserDetails principal = userService.loadUserByUsername("test@gmail.com");
+
+        assertInstanceOf(AuthPrincipal.class, principal);
+        assertEquals("test@gmail.com", principal.getUsername());
+        assertEquals("hash", principal.getPassword());
+        assertEquals(2, principal.getAuthorities().size());
+
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void loadUserByUsername_ShouldShareAuthoritySet_ForSameRoles() {
+
+        when(userRepository.findAuthRowsByEmail("a@gmail.com"))
+                .thenReturn(List.of(new AuthRow("a@gmail.com", "h1", "ROLE_USER")));
+        when(userRepository.findAuthRowsByEmail("b@gmail.com"))
+                .thenReturn(List.of(new AuthRow("b@gmail.com", "h2", "ROLE_USER")));
+
+        UserDetails first = userService.loadUserByUsername("a@gmail.com");
+        UserDetails second = userService.loadUserByUsername("b@gmail.com");
+
+        assertSame(first.getAuthorities(), second.getAuthorities());
+    }
+
+    @Test
+    void loadUserByUsername_ShouldAllowUserWithoutRoles() {
+
+        when(userRepository.findAuthRowsByEmail("test@gmail.com"))
+                .thenReturn(List.of(new AuthRow("test@gmail.com", "hash", null)));
+
+        assertTrue(userService.loadUserByUsername("test@gmail.com").getAuthorities().isEmpty());
+    }
+
+    @Test
+    void loadUserByUsername_ShouldThrowException_WhenNotFound() {
+
+        when(userRepository.findAuthRowsByEmail("missing@gmail.com"))
+                .thenReturn(List.of());
+
+        assertThrows(UsernameNotFoundException.class,
+                () -> userService.loadUserByUsername("missing@gmail.com"));
+    }
+
+    @Test
+    void updateLastLogin_ShouldBufferById_WithoutLoadingEntity() {
+
+        when(userRepository.findIdByEmail("test@gmail.com")).thenReturn(Optional.of(1L));
+
+        userService.updateLastLogin("test@gmail.com");
+
+        verify(lastLoginWriteBehind).record(eq(1L), any());
+        verify(cacheInvalidationBus).evict(CacheInvalidationBus.CURRENT_USER, "test@gmail.com");
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void updateLastLogin_ShouldThrowException_WhenNotFound() {
+
+        when(userRepository.findIdByEmail("missing@gmail.com")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> userService.updateLastLogin("missing@gmail.com"));
+        verifyNoInteractions(lastLoginWriteBehind);
+    }
+}
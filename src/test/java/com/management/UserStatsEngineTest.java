@@ -0,0 +1,178 @@
+package com.management;
+
+import com.management.dto.response.AdminStatsResponse;
+import com.management.repository.UserLoginView;
+import com.management.repository.UserRepository;
+import com.management.service.imp.UserStatsEngine;
+import org.junit.jupiter.api.*;
+import org.mockito.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserStatsEngineTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatsEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        engine = new UserStatsEngine(userRepository);
+        ReflectionTestUtils.setField(engine, "topK", 3);
+    }
+
+    private List<Long> recentIds() {
+        return engine.recentLogins(10).stream()
+                .map(AdminStatsResponse.UserLoginInfo::getUserId)
+                .toList();
+    }
+
+    private UserLoginView row(long id, LocalDateTime lastLogin) {
+        return new UserLoginView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return "user" + id + "@gmail.com";
+            }
+
+            @Override
+            public LocalDateTime getLastLogin() {
+                return lastLogin;
+            }
+        };
+    }
+
+    // =========================
+    // TOP-K OFFER / EVICT
+    // =========================
+    @Test
+    void onLogin_ShouldKeepNewestFirst_AndEvictOldest_WhenOverCapacity() {
+
+        engine.onLogin(1L, "user1@gmail.com", T0);
+        engine.onLogin(2L, "user2@gmail.com", T0.plusMinutes(2));
+        engine.onLogin(3L, "user3@gmail.com", T0.plusMinutes(1));
+
+        assertEquals(List.of(2L, 3L, 1L), recentIds());
+
+        engine.onLogin(4L, "user4@gmail.com", T0.plusMinutes(3));
+
+        assertEquals(List.of(4L, 2L, 3L), recentIds());
+    }
+
+    @Test
+    void onLogin_ShouldIgnoreEntry_OlderThanEverythingKept_WhenFull() {
+
+        engine.onLogin(1L, "user1@gmail.com", T0.plusMinutes(1));
+        engine.onLogin(2L, "user2@gmail.com", T0.plusMinutes(2));
+        engine.onLogin(3L, "user3@gmail.com", T0.plusMinutes(3));
+        List<AdminStatsResponse.UserLoginInfo> before = engine.recentLogins(10);
+
+        engine.onLogin(4L, "user4@gmail.com", T0);
+
+        assertEquals(List.of(3L, 2L, 1L), recentIds());
+        // Nothing changed, so the snapshot is not rebuilt
+        assertSame(before, engine.recentLogins(10));
+    }
+
+    @Test
+    void onLogin_ShouldMoveUser_OnlyWhenNewer() {
+
+        engine.onLogin(1L, "user1@gmail.com", T0.plusMinutes(1));
+        engine.onLogin(2L, "user2@gmail.com", T0.plusMinutes(2));
+
+        // Duplicate / out-of-order event for user 1: ignored
+        engine.onLogin(1L, "user1@gmail.com", T0);
+        assertEquals(List.of(2L, 1L), recentIds());
+
+        engine.onLogin(1L, "user1@gmail.com", T0.plusMinutes(5));
+        assertEquals(List.of(1L, 2L), recentIds());
+        assertEquals(T0.plusMinutes(5), engine.recentLogins(1).get(0).getLastLogin());
+    }
+
+    @Test
+    void onLogin_ShouldIgnoreEvent_WithoutUserIdOrTimestamp() {
+
+        engine.onLogin(null, "user1@gmail.com", T0);
+        engine.onLogin(1L, "user1@gmail.com", null);
+
+        assertTrue(engine.recentLogins(10).isEmpty());
+    }
+
+    @Test
+    void recentLogins_ShouldReturnPrefix_WhenSizeSmallerThanKept() {
+
+        engine.onLogin(1L, "user1@gmail.com", T0.plusMinutes(1));
+        engine.onLogin(2L, "user2@gmail.com", T0.plusMinutes(2));
+
+        assertEquals(1, engine.recentLogins(1).size());
+        assertEquals(2L, engine.recentLogins(1).get(0).getUserId());
+    }
+
+    @Test
+    void recentLoginsAfter_ShouldContinueAfterPosition_BreakingTiesOnUserId() {
+
+        engine.onLogin(1L, "user1@gmail.com", T0);
+        engine.onLogin(2L, "user2@gmail.com", T0.plusMinutes(1));
+        engine.onLogin(3L, "user3@gmail.com", T0.plusMinutes(1));
+
+        List<Long> after = engine.recentLoginsAfter(T0.plusMinutes(1), 3L, 10).stream()
+                .map(AdminStatsResponse.UserLoginInfo::getUserId)
+                .toList();
+
+        assertEquals(List.of(2L, 1L), after);
+        assertTrue(engine.recentLoginsAfter(T0, 1L, 10).isEmpty());
+    }
+
+    // =========================
+    // RESYNC
+    // =========================
+    @Test
+    void resync_ShouldResetTotal_AndMergeRows_KeepingNewerEvents() {
+
+        engine.onRegistered();
+        engine.onRegistered();
+        // Seen as an event; the DB row for user 1 is still older (write-behind)
+        engine.onLogin(1L, "user1@gmail.com", T0.plusMinutes(10));
+
+        when(userRepository.count()).thenReturn(42L);
+        when(userRepository.findRecentLogins(any(Pageable.class))).thenReturn(List.of(
+                row(1L, T0.plusMinutes(1)),
+                row(2L, T0.plusMinutes(3)),
+                row(3L, T0.plusMinutes(2))));
+
+        ReflectionTestUtils.invokeMethod(engine, "resync");
+
+        assertEquals(42L, engine.totalUsers());
+        assertEquals(List.of(1L, 2L, 3L), recentIds());
+        assertEquals(T0.plusMinutes(10), engine.recentLogins(1).get(0).getLastLogin());
+
+        verify(userRepository).findRecentLogins(argThat(page -> page.getPageSize() == 3));
+    }
+
+    @Test
+    void onRegistered_ShouldIncrementTotal_AfterResync() {
+
+        when(userRepository.count()).thenReturn(5L);
+        when(userRepository.findRecentLogins(any(Pageable.class))).thenReturn(List.of());
+        ReflectionTestUtils.invokeMethod(engine, "resync");
+
+        engine.onRegistered();
+
+        assertEquals(6L, engine.totalUsers());
+    }
+}
@@ -0,0 +1,178 @@
+package com.management;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.kafka.ConfluentKafkaContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requests/sec and p99 with platform vs. virtual request threads, same app, same
+ * containers. Mixed blocking load: cached profile reads plus an admin stats page
+ * that always goes to MySQL (top-k = 1).
+ * Needs Docker; not part of the normal test run (name doesn't match *Test).
+ * Run with: mvn test -Dtest=VirtualThreadLoadBenchmark
+ */
+class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTS = 400;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASURE = Duration.ofSeconds(30);
+
+    private static final String ADMIN_LOGIN =
+            "{\"email\":\"admin@system.com\",\"password\":\"Admin@12345\"}";
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+
+        try (MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+             ConfluentKafkaContainer kafka = new ConfluentKafkaContainer("confluentinc/cp-kafka:7.6.0")) {
+
+            mysql.start();
+            kafka.start();
+
+            Result platform = run(false, mysql, kafka);
+            Result virtual = run(true, mysql, kafka);
+
+            System.out.printf("%n[%d clients] platform threads : %,.0f req/s, p99 %d ms, errors %d%n",
+                    CLIENTS, platform.throughput(), platform.p99Millis(), platform.errors());
+            System.out.printf("[%d clients] virtual threads  : %,.0f req/s, p99 %d ms, errors %d (x%.2f)%n%n",
+                    CLIENTS, virtual.throughput(), virtual.p99Millis(), virtual.errors(),
+                    virtual.throughput() / platform.throughput());
+
+            assertTrue(platform.throughput() > 0 && virtual.throughput() > 0);
+        }
+    }
+
+    private Result run(boolean virtualThreads, MySQLContainer<?> mysql, ConfluentKafkaContainer kafka)
+            throws Exception {
+
+        try (ConfigurableApplicationContext app =
+                     new SpringApplicationBuilder(UserManagementSystemApplication.class)
+                             .properties(
+                                     "server.port=0",
+                                     "spring.threads.virtual.enabled=" + virtualThreads,
+                                     "spring.datasource.url=" + mysql.getJdbcUrl()
+                                             + "?rewriteBatchedStatements=true",
+                                     "spring.datasource.username=" + mysql.getUsername(),
+                                     "spring.datasource.password=" + mysql.getPassword(),
+                                     "spring.kafka.bootstrap-servers=" + kafka.getBootstrapServers(),
+                                     "spring.jpa.show-sql=false",
+                                     "security.password.bcrypt.strength=4",
+                                     "cache.invalidation.mode=local",
+                                     "stats.top-k=1",
+                                     "logging.level.root=WARN")
+                             .run()) {
+
+            String baseUrl = "http://localhost:"
+                    + app.getEnvironment().getProperty("local.server.port");
+            String token = login(baseUrl);
+
+            List<URI> targets = List.of(
+                    URI.create(baseUrl + "/api/users/me"),
+                    URI.create(baseUrl + "/api/admin/stats?size=20"));
+
+            load(targets, token, WARMUP);
+            return load(targets, token, MEASURE);
+        }
+    }
+
+    private String login(String baseUrl) throws Exception {
+
+        HttpResponse<String> response = http.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(ADMIN_LOGIN))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode(), response.body());
+        return new ObjectMapper().readTree(response.body()).get("token").asText();
+    }
+
+    // CLIENTS closed-loop clients, each alternating between the targets until the deadline
+    private Result load(List<URI> targets, String token, Duration duration) throws Exception {
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+
+        List<Future<long[]>> clients = new ArrayList<>(CLIENTS);
+        long errors = 0;
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (int c = 0; c < CLIENTS; c++) {
+                int offset = c;
+                clients.add(pool.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    int failed = 0;
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(targets.get(i % targets.size()))
+                                .header("Authorization", "Bearer " + token)
+                                .GET()
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding())
+                                    .statusCode();
+                            if (status != 200) {
+                                failed++;
+                                continue;
+                            }
+                        } catch (Exception ex) {
+                            failed++;
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - sent;
+                    }
+                    // Last slot carries the error count
+                    long[] result = Arrays.copyOf(latencies, count + 1);
+                    result[count] = failed;
+                    return result;
+                }));
+            }
+
+            List<long[]> perClient = new ArrayList<>(CLIENTS);
+            for (Future<long[]> client : clients) {
+                long[] result = client.get();
+                errors += result[result.length - 1];
+                perClient.add(Arrays.copyOf(result, result.length - 1));
+            }
+
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+
+            assertTrue(all.length > 0, "no successful requests");
+            long p99 = all[(int) Math.ceil(all.length * 0.99) - 1];
+
+            return new Result(all.length / seconds, p99 / 1_000_000, errors);
+        }
+    }
+
+    private record Result(double throughput, long p99Millis, long errors) {
+    }
+}